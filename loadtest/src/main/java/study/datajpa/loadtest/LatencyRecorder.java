@@ -0,0 +1,41 @@
+package study.datajpa.loadtest;
+
+import java.util.Arrays;
+
+// 시나리오별 응답 시간 (마이크로초), 실행이 끝난 뒤 정렬해서 백분위 계산
+class LatencyRecorder {
+
+  private long[] micros = new long[1024];
+  private int count;
+  private long errors;
+
+  synchronized void record(long nanos, boolean success) {
+    if (!success) {
+      errors++;
+    }
+    if (count == micros.length) {
+      micros = Arrays.copyOf(micros, count * 2);
+    }
+    micros[count++] = nanos / 1_000;
+  }
+
+  synchronized Summary summarize(double seconds) {
+    long[] sorted = Arrays.copyOf(micros, count);
+    Arrays.sort(sorted);
+    return new Summary(count, errors, count / seconds,
+        percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+        count == 0 ? 0 : sorted[count - 1] / 1000.0);
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1000.0;
+  }
+
+  record Summary(long requests, long errors, double throughput, double p50Millis, double p90Millis,
+                 double p99Millis, double maxMillis) {
+  }
+}
@@ -0,0 +1,208 @@
+package study.datajpa.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import study.datajpa.loadtest.LatencyRecorder.Summary;
+import study.datajpa.loadtest.Scenario.Target;
+
+/**
+ * 가중치 시나리오 믹스로 MemberController 에 부하를 주고 시나리오별 처리량, 응답 시간 백분위,
+ * 시나리오별 DB statement 수(/diagnostics/connections 의 X-Load-Scenario 집계)를 출력.
+ * 결과는 JSON 으로도 저장 -> 변경 전후를 같은 기준으로 비교
+ *
+ * 옵션: --base-url, --duration, --warmup, --concurrency, --out
+ */
+public class LoadTestMain {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parse(args);
+    URI baseUrl = URI.create(options.getOrDefault("base-url", "http://localhost:8080"));
+    Duration duration = duration(options.getOrDefault("duration", "30s"));
+    Duration warmup = duration(options.getOrDefault("warmup", "5s"));
+    int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+    Path out = Path.of(options.getOrDefault("out", "build/loadtest/result-"
+        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+
+    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    Target target = discover(client, baseUrl);
+    List<Scenario> scenarios = Scenario.defaultMix();
+    System.out.printf("target %s ids [%d, %d], %d pages of 20, concurrency %d%n",
+        baseUrl, target.minId(), target.maxId(), target.totalPages(), concurrency);
+
+    run(client, target, scenarios, concurrency, warmup, null);
+
+    post(client, baseUrl, "/diagnostics/connections/reset");
+    post(client, baseUrl, "/diagnostics/queries/reset");
+    Map<Scenario, LatencyRecorder> recorders = new LinkedHashMap<>();
+    scenarios.forEach(scenario -> recorders.put(scenario, new LatencyRecorder()));
+    long start = System.nanoTime();
+    run(client, target, scenarios, concurrency, duration, recorders);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    JsonNode connections = getJson(client, baseUrl, "/diagnostics/connections");
+    JsonNode queries = getJson(client, baseUrl, "/diagnostics/queries");
+    ObjectNode result = report(recorders, seconds, connections, queries);
+    // 스트라이프 락 카운터는 기동 이후 누적 (워밍업 포함)
+    result.set("usernameLocks", getJson(client, baseUrl, "/diagnostics/username-locks"));
+
+    Files.createDirectories(out.toAbsolutePath().getParent());
+    MAPPER.writeValue(out.toFile(), result);
+    System.out.println("result written to " + out.toAbsolutePath());
+  }
+
+  private static void run(HttpClient client, Target target, List<Scenario> scenarios, int concurrency,
+      Duration duration, Map<Scenario, LatencyRecorder> recorders) throws InterruptedException {
+    int[] cumulative = new int[scenarios.size()];
+    int total = 0;
+    for (int i = 0; i < scenarios.size(); i++) {
+      total += scenarios.get(i).weight();
+      cumulative[i] = total;
+    }
+    int totalWeight = total;
+    long deadline = System.nanoTime() + duration.toNanos();
+
+    ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+    for (int w = 0; w < concurrency; w++) {
+      workers.execute(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+          Scenario scenario = pick(scenarios, cumulative, random.nextInt(totalWeight));
+          HttpRequest request = scenario.request().apply(target, random)
+              .header(Scenario.HEADER, scenario.name())
+              .build();
+          long begin = System.nanoTime();
+          boolean success;
+          try {
+            int status = client.send(request, BodyHandlers.discarding()).statusCode();
+            success = status < 400;
+          } catch (IOException e) {
+            success = false;
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+          if (recorders != null) {
+            recorders.get(scenario).record(System.nanoTime() - begin, success);
+          }
+        }
+      });
+    }
+    workers.shutdown();
+    workers.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS);
+  }
+
+  private static Scenario pick(List<Scenario> scenarios, int[] cumulative, int value) {
+    for (int i = 0; i < cumulative.length; i++) {
+      if (value < cumulative[i]) {
+        return scenarios.get(i);
+      }
+    }
+    return scenarios.get(scenarios.size() - 1);
+  }
+
+  private static ObjectNode report(Map<Scenario, LatencyRecorder> recorders, double seconds,
+      JsonNode connections, JsonNode queries) {
+    ObjectNode result = MAPPER.createObjectNode();
+    result.put("seconds", seconds);
+    ObjectNode scenarioNode = result.putObject("scenarios");
+    JsonNode usages = connections.path("scenarios");
+
+    System.out.printf("%n%-22s %9s %7s %9s %9s %9s %9s %9s %11s %9s%n", "scenario", "requests", "errors",
+        "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "statements", "stmt/req");
+    recorders.forEach((scenario, recorder) -> {
+      Summary summary = recorder.summarize(seconds);
+      JsonNode usage = usages.path(scenario.name());
+      long statements = usage.path("statements").asLong();
+      double perRequest = summary.requests() == 0 ? 0 : (double) statements / summary.requests();
+      ObjectNode node = scenarioNode.putObject(scenario.name());
+      node.setAll((ObjectNode) MAPPER.valueToTree(summary));
+      node.put("statements", statements);
+      node.put("statementsPerRequest", perRequest);
+      node.set("connections", usage);
+      System.out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %11d %9.2f%n", scenario.name(),
+          summary.requests(), summary.errors(), summary.throughput(),
+          summary.p50Millis(), summary.p90Millis(), summary.p99Millis(), summary.maxMillis(),
+          statements, perRequest);
+    });
+
+    // 엔드포인트별 집계는 참고용으로 그대로 저장
+    result.set("endpoints", connections.path("endpoints"));
+    result.set("pool", connections.path("pool"));
+    result.set("jdbc", queries.path("jdbc"));
+    result.set("planCache", queries.path("planCache"));
+    System.out.printf("%ntotal prepared statements %d, plan cache hit ratio %.3f%n",
+        queries.path("jdbc").path("prepareStatementCount").asLong(),
+        queries.path("planCache").path("hitRatio").asDouble());
+    return result;
+  }
+
+  // id 정렬로 첫/마지막 회원 id, 전체 건수로 페이지 수 계산
+  private static Target discover(HttpClient client, URI baseUrl) throws IOException, InterruptedException {
+    JsonNode first = getJson(client, baseUrl, "/members?size=1&sort=id,asc");
+    JsonNode last = getJson(client, baseUrl, "/members?size=1&sort=id,desc");
+    if (first.path("content").isEmpty()) {
+      throw new IllegalStateException("no members, start the app with --spring.profiles.active=perf");
+    }
+    long total = first.path("totalElements").asLong();
+    return new Target(baseUrl, first.path("content").get(0).path("id").asLong(),
+        last.path("content").get(0).path("id").asLong(), (total + 19) / 20);
+  }
+
+  private static JsonNode getJson(HttpClient client, URI baseUrl, String path)
+      throws IOException, InterruptedException {
+    String body = client.send(HttpRequest.newBuilder(baseUrl.resolve(path)).GET().build(),
+        BodyHandlers.ofString()).body();
+    return MAPPER.readTree(body);
+  }
+
+  private static void post(HttpClient client, URI baseUrl, String path) throws IOException, InterruptedException {
+    client.send(HttpRequest.newBuilder(baseUrl.resolve(path)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+        BodyHandlers.discarding());
+  }
+
+  private static Duration duration(String value) {
+    if (value.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+    }
+    if (value.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+    }
+    if (value.endsWith("m")) {
+      return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+    }
+    return Duration.ofSeconds(Long.parseLong(value));
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (arg.startsWith("--") && arg.contains("=")) {
+        int eq = arg.indexOf('=');
+        options.put(arg.substring(2, eq), arg.substring(eq + 1));
+      }
+    }
+    return options;
+  }
+}
@@ -0,0 +1,61 @@
+package study.datajpa.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * 가중치 기반 시나리오. 요청마다 X-Load-Scenario 헤더로 이름을 보냄
+ * -> 서버가 같은 엔드포인트라도 시나리오별(hot/cold, shallow/deep)로 DB statement 수를 집계
+ */
+record Scenario(String name, int weight, BiFunction<Target, ThreadLocalRandom, HttpRequest.Builder> request) {
+
+  static final String HEADER = "X-Load-Scenario";
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+  private static final int HOT_IDS = 100;
+  // 비관적 락 경쟁용 username 수 (perf 시드의 member0 ~ memberN)
+  private static final int HOT_USERNAMES = 10;
+
+  // 부하 대상 서버와 기존 데이터 범위
+  record Target(URI baseUrl, long minId, long maxId, long totalPages) {
+
+    HttpRequest.Builder get(String path) {
+      return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(TIMEOUT).GET();
+    }
+  }
+
+  static List<Scenario> defaultMix() {
+    return List.of(
+        new Scenario("members-page-shallow", 30,
+            (t, r) -> t.get("/members?size=20&page=" + r.nextInt(5))),
+        new Scenario("members-page-deep", 10,
+            (t, r) -> t.get("/members?size=20&page=" + deepPage(t, r))),
+        new Scenario("member-hot", 25,
+            (t, r) -> t.get("/members/" + (t.minId() + r.nextLong(Math.min(HOT_IDS, t.maxId() - t.minId() + 1))))),
+        new Scenario("member-cold", 10,
+            (t, r) -> t.get("/members/" + r.nextLong(t.minId(), t.maxId() + 1))),
+        new Scenario("members2", 10,
+            (t, r) -> t.get("/members2/" + r.nextLong(t.minId(), t.maxId() + 1))),
+        new Scenario("member-create", 15,
+            (t, r) -> HttpRequest.newBuilder(t.baseUrl().resolve("/members")).timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(BodyPublishers.ofString("{\"username\":\"load-" + r.nextLong(Long.MAX_VALUE)
+                    + "\",\"age\":" + r.nextInt(10, 60) + "}"))),
+        new Scenario("member-lock-hot", 5,
+            (t, r) -> HttpRequest.newBuilder(t.baseUrl()
+                    .resolve("/members/by-username/member" + r.nextInt(HOT_USERNAMES) + "/age-plus"))
+                .timeout(TIMEOUT)
+                .POST(BodyPublishers.noBody())));
+  }
+
+  // 전체 페이지의 뒤쪽 절반 (offset 이 큰 페이지)
+  private static long deepPage(Target target, ThreadLocalRandom random) {
+    long pages = Math.max(2, target.totalPages());
+    return random.nextLong(pages / 2, pages);
+  }
+}
@@ -0,0 +1,35 @@
+package study.datajpa.audit;
+
+import java.util.Iterator;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Interceptor;
+import org.hibernate.Transaction;
+import org.springframework.stereotype.Component;
+
+// hibernate.session_factory.interceptor 로 등록 (AuditingConfig)
+@Component
+@RequiredArgsConstructor
+public class AuditingFlushInterceptor implements Interceptor {
+
+  private final FlushScopedDateTimeProvider dateTimeProvider;
+
+  @Override
+  public void preFlush(Iterator<Object> entities) {
+    dateTimeProvider.reset();
+  }
+
+  @Override
+  public void postFlush(Iterator<Object> entities) {
+    dateTimeProvider.reset();
+  }
+
+  @Override
+  public void afterTransactionBegin(Transaction tx) {
+    dateTimeProvider.reset();
+  }
+
+  @Override
+  public void afterTransactionCompletion(Transaction tx) {
+    dateTimeProvider.reset();
+  }
+}
@@ -0,0 +1,74 @@
+package study.datajpa.audit;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Auditing 시각을 엔티티마다 읽지 않고 flush 단위로 한 번만 읽는다.
+ * 현재 트랜잭션의 세션이 flush 중(dirty check -> @PreUpdate)일 때만 처음 읽은 시각을 재사용하고,
+ * flush 밖의 persist (IDENTITY 는 persist 시점에 바로 insert) 는 매번 Clock 을 읽음.
+ * AuditingFlushInterceptor 가 flush 시작/종료 시점에 초기화하므로 flush 마다 새 시각
+ */
+@Component("auditingDateTimeProvider")
+public class FlushScopedDateTimeProvider implements DateTimeProvider {
+
+  private static final ThreadLocal<LocalDateTime> CAPTURED = new ThreadLocal<>();
+
+  private final Clock clock;
+  private final boolean flushScoped;
+  // EntityManagerFactory 가 AuditingFlushInterceptor(-> 이 빈)에 의존하므로 지연 조회
+  private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+  public FlushScopedDateTimeProvider(Clock clock,
+      @Value("${auditing.flush-scoped-timestamps:true}") boolean flushScoped,
+      ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+    this.clock = clock;
+    this.flushScoped = flushScoped;
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @Override
+  public Optional<TemporalAccessor> getNow() {
+    return Optional.of(now());
+  }
+
+  public LocalDateTime now() {
+    if (!flushScoped || !isFlushing()) {
+      return LocalDateTime.now(clock);
+    }
+    LocalDateTime now = CAPTURED.get();
+    if (now == null) {
+      now = LocalDateTime.now(clock);
+      CAPTURED.set(now);
+    }
+    return now;
+  }
+
+  void reset() {
+    CAPTURED.remove();
+  }
+
+  // 트랜잭션에 바인딩된 세션만 확인 (새 EntityManager 를 만들지 않음)
+  private boolean isFlushing() {
+    EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+    if (emf == null) {
+      return false;
+    }
+    EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(emf);
+    if (holder == null) {
+      return false;
+    }
+    return holder.getEntityManager().unwrap(SessionImplementor.class)
+        .getPersistenceContextInternal().isFlushing();
+  }
+}
@@ -0,0 +1,125 @@
+package study.datajpa.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * id -> (username, lastModifiedDate) 조회 전용 캐시.
+ * long 키를 박싱하지 않는 direct-mapped 배열 구조라 엔트리당 객체 1개만 사용하고,
+ * 슬롯 충돌 시에는 덮어쓴다 (캐시 미스 -> DB 프로젝션 조회로 다시 채워짐)
+ *
+ * 미스 후 DB 에서 읽은 값은 stamp(조회 전 슬롯의 무효화 세대)와 함께 put -> 조회 중에 evict 가 있었으면 버림.
+ * (커밋 직전에 이전 값을 읽은 요청이 커밋 후 evict 보다 늦게 put 해서 이전 값이 계속 남는 경우 방지)
+ * 이미 들어 있는 같은 id 의 값보다 lastModified 가 이전인 값도 버림
+ */
+@Component
+public class MemberUsernameCache {
+
+  public static final long UNKNOWN_LAST_MODIFIED = Long.MIN_VALUE;
+
+  private final AtomicReferenceArray<Entry> slots;
+  // 슬롯별 무효화 세대, evict 마다 증가 (충돌하는 다른 id 의 evict 도 증가 -> 보수적으로 put 거절)
+  private final AtomicLongArray generations;
+  private final int mask;
+
+  public MemberUsernameCache(@Value("${member.username-cache.capacity:65536}") int capacity) {
+    int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1; // 2의 제곱수로 올림
+    this.slots = new AtomicReferenceArray<>(size);
+    this.generations = new AtomicLongArray(size);
+    this.mask = size - 1;
+  }
+
+  public String get(long id) {
+    Entry entry = getEntry(id);
+    return entry != null ? entry.username() : null;
+  }
+
+  public Entry getEntry(long id) {
+    Entry entry = slots.get(index(id));
+    return entry != null && entry.id() == id ? entry : null;
+  }
+
+  // DB 조회 전에 읽어서 put 에 전달
+  public long stamp(long id) {
+    return generations.get(index(id));
+  }
+
+  public boolean put(long id, String username) {
+    return put(id, username, null);
+  }
+
+  // 커밋 이후 시점의 값 (엔티티 리스너), 조회 중 무효화 여부는 확인하지 않음
+  public boolean put(long id, String username, LocalDateTime lastModifiedDate) {
+    return put(id, username, lastModifiedDate, generations.get(index(id)));
+  }
+
+  public boolean put(long id, String username, LocalDateTime lastModifiedDate, long stamp) {
+    if (username == null) {
+      return false;
+    }
+    int index = index(id);
+    if (generations.get(index) != stamp) {
+      return false;
+    }
+    Entry entry = new Entry(id, username, toEpochMillis(lastModifiedDate));
+    Entry current = slots.get(index);
+    if (current != null && current.id() == id && current.hasLastModified() && entry.hasLastModified()
+        && current.lastModified() > entry.lastModified()) {
+      return false;
+    }
+    if (!slots.compareAndSet(index, current, entry)) {
+      return false;
+    }
+    // set 과 겹친 evict -> 방금 넣은 값 제거
+    if (generations.get(index) != stamp) {
+      slots.compareAndSet(index, entry, null);
+      return false;
+    }
+    return true;
+  }
+
+  public void evict(long id) {
+    int index = index(id);
+    generations.incrementAndGet(index);
+    Entry entry = slots.get(index);
+    if (entry != null && entry.id() == id) {
+      slots.compareAndSet(index, entry, null);
+    }
+  }
+
+  public int capacity() {
+    return slots.length();
+  }
+
+  // 워밍업처럼 조회 대상 id 를 미리 모를 때 전체 슬롯의 stamp
+  long[] stamps() {
+    long[] stamps = new long[generations.length()];
+    for (int i = 0; i < stamps.length; i++) {
+      stamps[i] = generations.get(i);
+    }
+    return stamps;
+  }
+
+  public static long toEpochMillis(LocalDateTime lastModifiedDate) {
+    return lastModifiedDate != null
+        ? lastModifiedDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+        : UNKNOWN_LAST_MODIFIED;
+  }
+
+  int index(long id) {
+    // 연속된 IDENTITY 값이 고르게 퍼지도록 피보나치 해싱
+    return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+
+  // lastModified: epoch millis (ETag, Last-Modified 용)
+  public record Entry(long id, String username, long lastModified) {
+
+    public boolean hasLastModified() {
+      return lastModified != UNKNOWN_LAST_MODIFIED;
+    }
+  }
+}
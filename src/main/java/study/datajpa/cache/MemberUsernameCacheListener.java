@@ -0,0 +1,47 @@
+package study.datajpa.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.Member;
+
+// SpringBeanContainer 가 생성자 주입해줌 (hibernate.resource.beans.container)
+@RequiredArgsConstructor
+public class MemberUsernameCacheListener {
+
+  private final MemberUsernameCache cache;
+
+  @PostPersist
+  public void postPersist(Member member) {
+    Long id = member.getId();
+    String username = member.getUsername();
+    LocalDateTime lastModifiedDate = member.getLastModifiedDate();
+    afterCommit(() -> cache.put(id, username, lastModifiedDate));
+  }
+
+  // 롤백될 수도 있으므로 즉시 무효화 + 커밋 이후 한번 더 무효화
+  @PostUpdate
+  @PostRemove
+  public void evict(Member member) {
+    Long id = member.getId();
+    cache.evict(id);
+    afterCommit(() -> cache.evict(id));
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
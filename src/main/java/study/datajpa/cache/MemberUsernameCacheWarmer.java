@@ -0,0 +1,34 @@
+package study.datajpa.cache;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberUsername;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "member.username-cache.warm-up", havingValue = "true", matchIfMissing = true)
+public class MemberUsernameCacheWarmer {
+
+  private final MemberRepository memberRepository;
+  private final MemberUsernameCache cache;
+
+  // 엔티티 로딩 없이 (id, username, lastModifiedDate) 프로젝션으로 캐시 용량만큼 채움
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    // 조회 중에 변경(evict)된 회원은 넣지 않음
+    long[] stamps = cache.stamps();
+    List<MemberUsername> rows = memberRepository.findIdUsernames(PageRequest.of(0, cache.capacity()));
+    for (MemberUsername row : rows) {
+      cache.put(row.getId(), row.getUsername(), row.getLastModifiedDate(), stamps[cache.index(row.getId())]);
+    }
+    log.info("member username cache warmed with {} entries", rows.size());
+  }
+}
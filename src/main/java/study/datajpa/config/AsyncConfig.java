@@ -0,0 +1,44 @@
+package study.datajpa.config;
+
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import study.datajpa.diagnostics.EndpointContext;
+import study.datajpa.guard.QueryCancellationScope;
+import study.datajpa.tenancy.TenantContext;
+
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+  // Executor 빈을 직접 등록하면 부트의 applicationTaskExecutor 가 빠짐
+  // -> 이 이름이 있어야 bootstrap-mode: deferred 의 EntityManagerFactory 초기화, MVC 비동기 처리가
+  //    리포지토리 풀(CallerRuns)이나 스케줄러 대신 이 풀을 사용 (spring.task.execution.* 설정 적용)
+  @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+  public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+    return builder.build();
+  }
+
+  // @Async 리포지토리 메서드 전용 풀, 커넥션 풀보다 작게 잡아야 요청 스레드와 커넥션 경쟁이 덜함
+  @Bean
+  public ThreadPoolTaskExecutor repositoryAsyncExecutor(
+      @Value("${repository.async.pool-size:8}") int poolSize,
+      @Value("${repository.async.queue-capacity:200}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("repo-async-");
+    // 큐가 가득 차면 호출 스레드에서 실행 -> 자연스러운 backpressure
+    executor.setRejectedExecutionHandler(new CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    // 테넌트, 엔드포인트(커넥션 프로파일 귀속), 요청의 쿼리 취소 scope 전파
+    executor.setTaskDecorator(
+        task -> TenantContext.wrap(EndpointContext.wrap(QueryCancellationScope.wrap(task))));
+    return executor;
+  }
+}
@@ -0,0 +1,25 @@
+package study.datajpa.config;
+
+import java.time.Clock;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datajpa.audit.AuditingFlushInterceptor;
+
+@Configuration
+public class AuditingConfig {
+
+  // 테스트에서 Clock.fixed(...) 빈으로 교체 가능
+  @Bean
+  @ConditionalOnMissingBean
+  public Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer auditingInterceptorCustomizer(AuditingFlushInterceptor interceptor) {
+    return properties -> properties.put(AvailableSettings.INTERCEPTOR, interceptor);
+  }
+}
@@ -0,0 +1,35 @@
+package study.datajpa.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * JVM 시작부터 첫 요청 응답까지 걸린 시간을 한 번만 기록 (default / AOT / CDS 기동 비교용)
+ */
+@Slf4j
+@Component
+public class FirstRequestTimingFilter extends OncePerRequestFilter {
+
+  private final AtomicBoolean logged = new AtomicBoolean();
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      if (!logged.get() && logged.compareAndSet(false, true)) {
+        long elapsed = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        log.info("time-to-first-request = {} ms ({} {})", elapsed, request.getMethod(), request.getRequestURI());
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package study.datajpa.config;
+
+import java.util.List;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 스프링 빈으로 등록된 하이버네이트 이벤트 리스너(Post insert/update/delete)를 SessionFactory 에 등록.
+ * JPA 엔티티 리스너와 달리 변경 전 상태(oldState)를 받을 수 있음
+ */
+@Configuration
+public class HibernateEventConfig {
+
+  @Bean
+  public HibernatePropertiesCustomizer eventListenerCustomizer(
+      ObjectProvider<PostInsertEventListener> insertListeners,
+      ObjectProvider<PostUpdateEventListener> updateListeners,
+      ObjectProvider<PostDeleteEventListener> deleteListeners) {
+
+    Integrator integrator = new Integrator() {
+      @Override
+      public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+          SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT,
+            insertListeners.orderedStream().toArray(PostInsertEventListener[]::new));
+        registry.appendListeners(EventType.POST_UPDATE,
+            updateListeners.orderedStream().toArray(PostUpdateEventListener[]::new));
+        registry.appendListeners(EventType.POST_DELETE,
+            deleteListeners.orderedStream().toArray(PostDeleteEventListener[]::new));
+      }
+
+      @Override
+      public void disintegrate(SessionFactoryImplementor sessionFactory,
+          SessionFactoryServiceRegistry serviceRegistry) {
+      }
+    };
+
+    return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+        (IntegratorProvider) () -> List.of(integrator));
+  }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.datajpa.controller.MemberConditionalGetInterceptor;
+import study.datajpa.diagnostics.EndpointContextInterceptor;
+import study.datajpa.guard.QueryCancellationInterceptor;
+import study.datajpa.tenancy.TenantHeaderInterceptor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+  private final EndpointContextInterceptor endpointContextInterceptor;
+  private final MemberConditionalGetInterceptor memberConditionalGetInterceptor;
+  private final ObjectProvider<TenantHeaderInterceptor> tenantHeaderInterceptor;
+  private final ObjectProvider<QueryCancellationInterceptor> queryCancellationInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(endpointContextInterceptor);
+    queryCancellationInterceptor.ifAvailable(registry::addInterceptor);
+    // 테넌트가 먼저 정해져야 이후 인터셉터의 조회도 테넌트 범위로 실행됨
+    // 진단용 엔드포인트는 테넌트 데이터가 아니므로 헤더 없이 허용
+    tenantHeaderInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+        .excludePathPatterns("/diagnostics/**"));
+    registry.addInterceptor(memberConditionalGetInterceptor)
+        .addPathPatterns("/members/{id}", "/members2/{id}");
+  }
+}
@@ -0,0 +1,82 @@
+package study.datajpa.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import study.datajpa.cache.MemberUsernameCache;
+import study.datajpa.cache.MemberUsernameCache.Entry;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberUsername;
+import study.datajpa.tenancy.TenantContext;
+
+/**
+ * /members/{id}, /members2/{id} 조건부 GET.
+ * 파라미터 바인딩(도메인 클래스 컨버터의 엔티티 조회) 전에 lastModifiedDate 로 ETag, Last-Modified 를 비교해서
+ * 변경이 없으면 엔티티 로딩 없이 304 Not Modified 응답
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberConditionalGetInterceptor implements HandlerInterceptor {
+
+  private final MemberRepository memberRepository;
+  private final MemberUsernameCache memberUsernameCache;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+      return true;
+    }
+    Long id = memberId(request);
+    if (id == null) {
+      return true;
+    }
+
+    long lastModified = lastModified(id);
+    if (lastModified == MemberUsernameCache.UNKNOWN_LAST_MODIFIED) {
+      return true;
+    }
+    String etag = "\"" + id + "-" + Long.toHexString(lastModified) + "\"";
+    // 변경 없으면 304 상태 세팅 후 핸들러 실행 x, 변경 있으면 ETag, Last-Modified 헤더만 추가
+    return !new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
+  }
+
+  // 캐시 -> (id, username, lastModifiedDate) 프로젝션 순, 테넌트 범위 요청은 캐시 사용 x (다른 팀 회원도 들어 있음)
+  private long lastModified(Long id) {
+    boolean tenantScoped = TenantContext.current() != null;
+    Entry entry = tenantScoped ? null : memberUsernameCache.getEntry(id);
+    if (entry != null) {
+      return entry.lastModified();
+    }
+    long stamp = memberUsernameCache.stamp(id);
+    Optional<MemberUsername> member = memberRepository.findUsernameById(id);
+    if (member.isEmpty()) {
+      return MemberUsernameCache.UNKNOWN_LAST_MODIFIED;
+    }
+    if (tenantScoped) {
+      return MemberUsernameCache.toEpochMillis(member.get().getLastModifiedDate());
+    }
+    // 조회 중에 변경됐으면 캐시에는 안 들어가지만 이번 응답은 읽은 값 기준
+    memberUsernameCache.put(id, member.get().getUsername(), member.get().getLastModifiedDate(), stamp);
+    return MemberUsernameCache.toEpochMillis(member.get().getLastModifiedDate());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Long memberId(HttpServletRequest request) {
+    Map<String, String> variables = (Map<String, String>) request.getAttribute(
+        HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    if (variables == null || variables.get("id") == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(variables.get("id"));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
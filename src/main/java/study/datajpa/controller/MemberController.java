@@ -1,33 +1,111 @@
 package study.datajpa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.cache.MemberUsernameCache;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
+import study.datajpa.dto.MemberSummaryDto;
 import study.datajpa.entity.Member;
+import study.datajpa.ingest.MemberCreateCommand;
+import study.datajpa.ingest.MemberIngestionPipeline;
+import study.datajpa.lock.MemberLockService;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberSpecs;
+import study.datajpa.repository.MemberUsername;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.tenancy.TenantContext;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+  private static final int MAX_COMPACT_PAGE_SIZE = 1000;
+  private static final int MAX_USERNAME_SUGGESTIONS = 100;
+
   private final MemberRepository memberRepository;
+  private final MemberUsernameCache memberUsernameCache;
+  private final ObjectMapper objectMapper;
+  private final TeamRepository teamRepository;
+  private final ObjectProvider<MemberIngestionPipeline> ingestionPipeline;
+  private final MemberLockService memberLockService;
 
+  // 캐시 -> username 프로젝션 순으로 조회, 엔티티는 로딩하지 않음
+  // 캐시는 테넌트 구분 없는 id 키 -> 테넌트 범위 요청은 필터가 걸리는 프로젝션 조회만 사용
   @GetMapping("/members/{id}")
   public String findMember(@PathVariable("id") Long id) {
-    Member member = memberRepository.findById(id).get();
-    return member.getUsername();
+    if (TenantContext.current() != null) {
+      return memberRepository.findUsernameById(id).orElseThrow().getUsername();
+    }
+    String username = memberUsernameCache.get(id);
+    if (username == null) {
+      long stamp = memberUsernameCache.stamp(id);
+      MemberUsername member = memberRepository.findUsernameById(id).orElseThrow();
+      username = member.getUsername();
+      memberUsernameCache.put(id, username, member.getLastModifiedDate(), stamp);
+    }
+    return username;
   }
 
+  // member.ingest.enabled 면 배치 적재 파이프라인, 아니면 바로 저장. 응답은 생성된 id
+  @PostMapping("/members")
+  public CompletableFuture<Long> create(@RequestBody MemberCreateCommand command) {
+    MemberIngestionPipeline pipeline = ingestionPipeline.getIfAvailable();
+    if (pipeline != null) {
+      return pipeline.submit(command);
+    }
+    Member member = new Member(command.username(), command.age());
+    if (command.teamId() != null) {
+      // changeTeam 은 team.members 컬렉션을 로딩하므로 FK 만 세팅
+      member.setTeam(teamRepository.getReferenceById(command.teamId()));
+    }
+    return CompletableFuture.completedFuture(memberRepository.save(member).getId());
+  }
+
+  // 같은 username 회원들을 비관적 락(select ... for update)으로 조회 후 나이 +1, 변경된 회원 수 반환
+  // member.username-lock.enabled 면 노드 안에서는 username 스트라이프 락으로 먼저 줄을 세움 (핫 키)
+  @PostMapping("/members/by-username/{username}/age-plus")
+  public int increaseAge(@PathVariable("username") String username) {
+    return memberLockService.withUsernameLock(username, members -> {
+      members.forEach(member -> member.setAge(member.getAge() + 1));
+      return members.size();
+    });
+  }
+
+  // 엔티티는 메서드 호출 전 도메인 클래스 컨버터가 findById(읽기 전용 트랜잭션)로 조회
+  // findById 는 em.find -> 테넌트 필터가 걸리지 않으므로 팀을 직접 확인 (프록시 id 는 초기화 없이 읽힘)
   @GetMapping("/members2/{id}")
   public String findMember2(@PathVariable("id") Member member) {
+    Long tenantTeamId = TenantContext.current();
+    if (tenantTeamId != null
+        && (member.getTeam() == null || !tenantTeamId.equals(member.getTeam().getId()))) {
+      throw new NoSuchElementException("No value present");
+    }
     return member.getUsername();
   }
 
+  // 읽기 전용 트랜잭션: FlushMode.MANUAL, 세션 기본 readOnly(스냅샷 x), 커넥션 setReadOnly(true)
+  // -> 페이지 조회 + count 를 한 커넥션으로, 변경감지용 스냅샷과 커밋 시 flush 없이 처리
+  @Transactional(readOnly = true)
   @GetMapping("/members")
   public Page<MemberDto> list(@PageableDefault(size = 5) Pageable pageable){
     Page<Member> page = memberRepository.findAll(pageable);
@@ -35,4 +113,67 @@ public class MemberController {
         member -> new MemberDto(member.getId(), member.getUsername(), null));
   }
 
+  // 조건 조합 검색, count=false 면 count 쿼리 없는 Slice 로 응답 (무한 스크롤 등)
+  @Transactional(readOnly = true)
+  @GetMapping("/members/search")
+  public Slice<MemberDto> search(@ModelAttribute MemberSearchCondition condition,
+      @RequestParam(value = "count", defaultValue = "true") boolean count,
+      @PageableDefault(size = 5) Pageable pageable) {
+    Slice<Member> result = count
+        ? memberRepository.findAll(MemberSpecs.search(condition), pageable)
+        : memberRepository.searchSlice(MemberSpecs.search(condition), pageable);
+    return result.map(member -> new MemberDto(member.getId(), member.getUsername(), null));
+  }
+
+  // username 자동완성
+  @GetMapping("/members/usernames")
+  public List<String> suggestUsernames(@RequestParam("prefix") String prefix,
+      @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    return memberRepository.searchUsernames(prefix, Math.max(1, Math.min(limit, MAX_USERNAME_SUGGESTIONS)));
+  }
+
+  // Page 직렬화 대신 {content, nextCursor, total?} 를 JsonGenerator 로 바로 응답에 씀
+  // nextCursor 는 마지막 id (다음 요청의 cursor), 더 없으면 null
+  // 조회(최대 1000+1 행)를 배열로 먼저 끝낸 뒤 씀 -> 응답 쓰는 동안 커넥션을 잡지 않고,
+  // 조회 실패 시 잘린 200 대신 일반 에러 응답
+  @GetMapping("/members/compact")
+  public void listCompact(@RequestParam(value = "cursor", required = false) Long cursor,
+      @RequestParam(value = "size", defaultValue = "5") int size,
+      @RequestParam(value = "total", defaultValue = "false") boolean total,
+      HttpServletResponse response) throws IOException {
+    int pageSize = Math.max(1, Math.min(size, MAX_COMPACT_PAGE_SIZE));
+
+    // 1개 더 조회해서 다음 페이지 존재 여부 판단 (Slice 방식)
+    long[] ids = new long[pageSize + 1];
+    String[] usernames = new String[pageSize + 1];
+    int[] rows = {0};
+    memberRepository.forEachIdUsername(cursor, pageSize + 1, (id, username) -> {
+      ids[rows[0]] = id;
+      usernames[rows[0]++] = username;
+    });
+    Long totalCount = total ? memberRepository.count() : null;
+
+    int count = Math.min(rows[0], pageSize);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    try (MemberPageJsonWriter writer =
+        new MemberPageJsonWriter(objectMapper.getFactory(), response.getOutputStream())) {
+      for (int i = 0; i < count; i++) {
+        writer.writeMember(ids[i], usernames[i]);
+      }
+      writer.finish(rows[0] > pageSize ? ids[count - 1] : null, totalCount);
+    }
+  }
+
+  // 세 쿼리를 병렬로 실행 -> 응답 시간은 합이 아니라 가장 느린 쿼리 수준
+  // CompletableFuture 반환 -> 요청 스레드도 바로 반납 (MVC 비동기 처리)
+  @GetMapping("/members/summary")
+  public CompletableFuture<MemberSummaryDto> summary() {
+    CompletableFuture<Long> count = memberRepository.countAsync();
+    CompletableFuture<List<String>> usernames = memberRepository.findUsernameListAsync();
+    CompletableFuture<List<MemberDto>> members = memberRepository.findMemberDtoAsync();
+
+    return CompletableFuture.allOf(count, usernames, members)
+        .thenApply(v -> new MemberSummaryDto(count.join(), usernames.join(), members.join()));
+  }
+
 }
@@ -0,0 +1,75 @@
+package study.datajpa.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * {"content":[{"id":1,"username":"..."},...],"nextCursor":5,"total":100} 형태로 바로 스트림에 쓴다.
+ * Page, DTO 리스트를 만들지 않고 필드명은 미리 인코딩된 값을 재사용
+ */
+public class MemberPageJsonWriter implements Closeable {
+
+  private static final SerializedString CONTENT = new SerializedString("content");
+  private static final SerializedString ID = new SerializedString("id");
+  private static final SerializedString USERNAME = new SerializedString("username");
+  private static final SerializedString NEXT_CURSOR = new SerializedString("nextCursor");
+  private static final SerializedString TOTAL = new SerializedString("total");
+
+  private final JsonGenerator generator;
+
+  public MemberPageJsonWriter(JsonFactory jsonFactory, OutputStream out) {
+    try {
+      this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+      generator.writeStartObject();
+      generator.writeFieldName(CONTENT);
+      generator.writeStartArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void writeMember(long id, String username) {
+    try {
+      generator.writeStartObject();
+      generator.writeFieldName(ID);
+      generator.writeNumber(id);
+      generator.writeFieldName(USERNAME);
+      generator.writeString(username);
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // total 은 요청한 경우에만 (count 쿼리 비용)
+  public void finish(Long nextCursor, Long total) {
+    try {
+      generator.writeEndArray();
+      generator.writeFieldName(NEXT_CURSOR);
+      if (nextCursor == null) {
+        generator.writeNull();
+      } else {
+        generator.writeNumber(nextCursor);
+      }
+      if (total != null) {
+        generator.writeFieldName(TOTAL);
+        generator.writeNumber(total);
+      }
+      generator.writeEndObject();
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    generator.close();
+  }
+}
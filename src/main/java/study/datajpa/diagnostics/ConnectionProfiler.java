@@ -0,0 +1,231 @@
+package study.datajpa.diagnostics;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * 커넥션 획득 대기 시간, 점유 시간(획득 ~ 반납), 트랜잭션 시간을 엔드포인트별, 리포지토리 메서드별,
+ * 부하 테스트 시나리오별(X-Load-Scenario 헤더가 있는 요청만)로 집계.
+ * 커넥션은 p6spy 이벤트, 트랜잭션은 트랜잭션 매니저의 실행 리스너로 측정.
+ * 점유 시간이 임계값을 넘으면 경고 로그 -> 풀을 오래 잡고 있는 엔드포인트 확인용
+ */
+@Slf4j
+@Component
+public class ConnectionProfiler extends JdbcEventListener implements TransactionExecutionListener {
+
+  static final String UNKNOWN = "(none)";
+
+  private final long longHoldThresholdNanos;
+  private final Map<Integer, Lease> leases = new ConcurrentHashMap<>();
+  private final Map<TransactionExecution, Lease> transactions = new ConcurrentHashMap<>();
+  private final Map<String, Usage> endpoints = new ConcurrentHashMap<>();
+  private final Map<String, Usage> methods = new ConcurrentHashMap<>();
+  private final Map<String, Usage> scenarios = new ConcurrentHashMap<>();
+
+  public ConnectionProfiler(@Value("${diagnostics.long-hold-threshold:500ms}") Duration longHoldThreshold) {
+    this.longHoldThresholdNanos = longHoldThreshold.toNanos();
+  }
+
+  @Override
+  public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+    if (e != null) {
+      return;
+    }
+    Lease lease = Lease.start();
+    leases.put(connectionInformation.getConnectionId(), lease);
+    long acquireNanos = connectionInformation.getTimeToGetConnectionNs();
+    usages(lease).forEach(usage -> usage.recordAcquire(acquireNanos));
+  }
+
+  @Override
+  public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos,
+      SQLException e) {
+    Lease lease = leases.get(statementInformation.getConnectionInformation().getConnectionId());
+    if (lease != null) {
+      lease.statements.increment();
+    }
+  }
+
+  @Override
+  public void onAfterConnectionClose(ConnectionInformation connectionInformation, SQLException e) {
+    Lease lease = leases.remove(connectionInformation.getConnectionId());
+    if (lease == null) {
+      return;
+    }
+    long holdNanos = System.nanoTime() - lease.startNanos;
+    long statements = lease.statements.sum();
+    boolean longHold = holdNanos > longHoldThresholdNanos;
+    usages(lease).forEach(usage -> usage.recordHold(holdNanos, statements, longHold));
+    if (longHold) {
+      log.warn("connection held {} ms (endpoint={}, repository={}, statements={})",
+          holdNanos / 1_000_000, lease.endpoint, lease.method, statements);
+    }
+  }
+
+  @Override
+  public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+    if (beginFailure == null) {
+      transactions.put(transaction, Lease.start());
+    }
+  }
+
+  @Override
+  public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+    endTransaction(transaction, commitFailure != null);
+  }
+
+  @Override
+  public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+    endTransaction(transaction, true);
+  }
+
+  private void endTransaction(TransactionExecution transaction, boolean rolledBack) {
+    Lease lease = transactions.remove(transaction);
+    if (lease != null) {
+      long nanos = System.nanoTime() - lease.startNanos;
+      usages(lease).forEach(usage -> usage.recordTransaction(nanos, rolledBack));
+    }
+  }
+
+  private List<Usage> usages(Lease lease) {
+    Usage endpoint = endpoints.computeIfAbsent(lease.endpoint, key -> new Usage());
+    Usage method = methods.computeIfAbsent(lease.method, key -> new Usage());
+    if (lease.scenario == null) {
+      return List.of(endpoint, method);
+    }
+    return List.of(endpoint, method, scenarios.computeIfAbsent(lease.scenario, key -> new Usage()));
+  }
+
+  public Map<String, Usage> endpoints() {
+    return new TreeMap<>(endpoints);
+  }
+
+  public Map<String, Usage> repositoryMethods() {
+    return new TreeMap<>(methods);
+  }
+
+  public Map<String, Usage> scenarios() {
+    return new TreeMap<>(scenarios);
+  }
+
+  public void reset() {
+    endpoints.clear();
+    methods.clear();
+    scenarios.clear();
+  }
+
+  // 리포지토리 메서드는 가장 바깥 호출 기준, 트랜잭션을 서비스/테스트에서 먼저 시작했으면 (none)
+  private record Lease(long startNanos, String endpoint, String method, String scenario,
+                       LongAdder statements) {
+
+    static Lease start() {
+      String endpoint = EndpointContext.current();
+      String method = RepositoryCallContext.current();
+      return new Lease(System.nanoTime(), endpoint != null ? endpoint : UNKNOWN,
+          method != null ? method : UNKNOWN, EndpointContext.scenario(), new LongAdder());
+    }
+  }
+
+  public static class Usage {
+
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder holdNanos = new LongAdder();
+    private final LongAccumulator maxHoldNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder longHolds = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LongAdder transactionNanos = new LongAdder();
+    private final LongAccumulator maxTransactionNanos = new LongAccumulator(Long::max, 0);
+
+    void recordAcquire(long nanos) {
+      connections.increment();
+      acquireNanos.add(nanos);
+      maxAcquireNanos.accumulate(nanos);
+    }
+
+    void recordHold(long nanos, long statementCount, boolean longHold) {
+      holdNanos.add(nanos);
+      maxHoldNanos.accumulate(nanos);
+      statements.add(statementCount);
+      if (longHold) {
+        longHolds.increment();
+      }
+    }
+
+    void recordTransaction(long nanos, boolean rolledBack) {
+      transactions.increment();
+      transactionNanos.add(nanos);
+      maxTransactionNanos.accumulate(nanos);
+      if (rolledBack) {
+        rollbacks.increment();
+      }
+    }
+
+    public long getConnections() {
+      return connections.sum();
+    }
+
+    public double getAvgAcquireMillis() {
+      return average(acquireNanos, connections);
+    }
+
+    public double getMaxAcquireMillis() {
+      return maxAcquireNanos.get() / 1_000_000.0;
+    }
+
+    public double getAvgHoldMillis() {
+      return average(holdNanos, connections);
+    }
+
+    public double getMaxHoldMillis() {
+      return maxHoldNanos.get() / 1_000_000.0;
+    }
+
+    public long getLongHolds() {
+      return longHolds.sum();
+    }
+
+    public long getStatements() {
+      return statements.sum();
+    }
+
+    public long getTransactions() {
+      return transactions.sum();
+    }
+
+    public long getRollbacks() {
+      return rollbacks.sum();
+    }
+
+    public double getAvgTransactionMillis() {
+      return average(transactionNanos, transactions);
+    }
+
+    public double getMaxTransactionMillis() {
+      return maxTransactionNanos.get() / 1_000_000.0;
+    }
+
+    private static double average(LongAdder totalNanos, LongAdder count) {
+      long n = count.sum();
+      return n == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / n;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package study.datajpa.diagnostics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.guard.QueryGuardStats;
+import study.datajpa.guard.QueryGuardStats.Trips;
+import study.datajpa.lock.MemberLockService;
+import study.datajpa.repository.MemberFetchPlanAdvisor;
+import study.datajpa.repository.MemberFetchPlanAdvisor.CallSite;
+
+@RestController
+@RequestMapping("/diagnostics")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+  private final EntityManagerFactory emf;
+  private final SqlShapeRecorder sqlShapeRecorder;
+  private final ConnectionProfiler connectionProfiler;
+  private final DataSource dataSource;
+  private final MemberFetchPlanAdvisor fetchPlanAdvisor;
+  private final ObjectProvider<QueryGuardStats> queryGuardStats;
+  private final MemberLockService memberLockService;
+
+  @GetMapping("/queries")
+  public Map<String, Object> queries() {
+    Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    long hit = statistics.getQueryPlanCacheHitCount();
+    long miss = statistics.getQueryPlanCacheMissCount();
+
+    Map<String, Object> planCache = new LinkedHashMap<>();
+    planCache.put("hit", hit);
+    planCache.put("miss", miss);
+    planCache.put("hitRatio", hit + miss == 0 ? 0 : (double) hit / (hit + miss));
+    planCache.put("distinctHql", statistics.getQueries().length);
+
+    Map<String, Object> jdbc = new LinkedHashMap<>();
+    jdbc.put("prepareStatementCount", statistics.getPrepareStatementCount());
+    jdbc.put("queryExecutionCount", statistics.getQueryExecutionCount());
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+    result.put("planCache", planCache);
+    result.put("jdbc", jdbc);
+    result.put("methods", sqlShapeRecorder.snapshot());
+    return result;
+  }
+
+  @PostMapping("/queries/reset")
+  public void reset() {
+    emf.unwrap(SessionFactory.class).getStatistics().clear();
+    sqlShapeRecorder.reset();
+  }
+
+  // 풀 상태 + 엔드포인트별, 리포지토리 메서드별 커넥션 대기/점유 시간, 트랜잭션 시간
+  @GetMapping("/connections")
+  public Map<String, Object> connections() throws SQLException {
+    Map<String, Object> result = new LinkedHashMap<>();
+    if (dataSource.isWrapperFor(HikariDataSource.class)) {
+      HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+      if (pool != null) {
+        Map<String, Object> poolState = new LinkedHashMap<>();
+        poolState.put("active", pool.getActiveConnections());
+        poolState.put("idle", pool.getIdleConnections());
+        poolState.put("total", pool.getTotalConnections());
+        poolState.put("threadsAwaiting", pool.getThreadsAwaitingConnection());
+        result.put("pool", poolState);
+      }
+    }
+    result.put("endpoints", connectionProfiler.endpoints());
+    result.put("repositoryMethods", connectionProfiler.repositoryMethods());
+    result.put("scenarios", connectionProfiler.scenarios());
+    return result;
+  }
+
+  @PostMapping("/connections/reset")
+  public void resetConnections() {
+    connectionProfiler.reset();
+  }
+
+  // MemberFetchPlan.AUTO 호출 위치별 team 접근 비율, 선택된 플랜
+  @GetMapping("/fetch-plans")
+  public Map<String, CallSite> fetchPlans() {
+    return fetchPlanAdvisor.snapshot();
+  }
+
+  // username 스트라이프 락 획득 수, 타임아웃 수, 누적 대기 시간
+  @GetMapping("/username-locks")
+  public Map<String, Object> usernameLocks() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", memberLockService.isEnabled());
+    result.put("acquisitions", memberLockService.getAcquisitions());
+    result.put("timeouts", memberLockService.getTimeouts());
+    result.put("totalWaitMillis", memberLockService.getTotalWaitMillis());
+    return result;
+  }
+
+  // repository.guard 의 메서드별 호출 수, 행 수 초과(rejected/truncated), 타임아웃, 취소 횟수
+  @GetMapping("/query-guard")
+  public Map<String, Trips> queryGuard() {
+    QueryGuardStats stats = queryGuardStats.getIfAvailable();
+    return stats != null ? stats.snapshot() : Map.of();
+  }
+
+  @PostMapping("/query-guard/reset")
+  public void resetQueryGuard() {
+    queryGuardStats.ifAvailable(QueryGuardStats::reset);
+  }
+}
@@ -0,0 +1,66 @@
+package study.datajpa.diagnostics;
+
+/**
+ * 현재 스레드에서 처리 중인 컨트롤러 엔드포인트 (ex. GET /members/{id})
+ * 와 부하 테스트 시나리오 이름 (X-Load-Scenario 헤더, 없으면 null)
+ */
+public final class EndpointContext {
+
+  public static final String SCENARIO_HEADER = "X-Load-Scenario";
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+  private static final ThreadLocal<String> SCENARIO = new ThreadLocal<>();
+
+  private EndpointContext() {
+  }
+
+  public static String current() {
+    return CURRENT.get();
+  }
+
+  public static String scenario() {
+    return SCENARIO.get();
+  }
+
+  static void set(String endpoint) {
+    set(endpoint, null);
+  }
+
+  static void set(String endpoint, String scenario) {
+    CURRENT.set(endpoint);
+    if (scenario != null) {
+      SCENARIO.set(scenario);
+    } else {
+      SCENARIO.remove();
+    }
+  }
+
+  static void clear() {
+    CURRENT.remove();
+    SCENARIO.remove();
+  }
+
+  // 비동기 작업에 현재 엔드포인트 전파, CallerRuns 로 호출 스레드에서 실행될 수 있으므로 이전 값 복원
+  public static Runnable wrap(Runnable task) {
+    String endpoint = CURRENT.get();
+    String scenario = SCENARIO.get();
+    return () -> {
+      String previous = CURRENT.get();
+      String previousScenario = SCENARIO.get();
+      restore(endpoint, scenario);
+      try {
+        task.run();
+      } finally {
+        restore(previous, previousScenario);
+      }
+    };
+  }
+
+  private static void restore(String endpoint, String scenario) {
+    if (endpoint != null) {
+      set(endpoint, scenario);
+    } else {
+      clear();
+    }
+  }
+}
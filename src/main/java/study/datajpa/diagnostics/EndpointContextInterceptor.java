@@ -0,0 +1,46 @@
+package study.datajpa.diagnostics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// URL 이 아니라 매핑 패턴 기준으로 묶음 (/members/1, /members/2 -> GET /members/{id})
+// 부하 테스트가 보낸 시나리오 이름은 같은 엔드포인트를 나눠서 보기 위한 별도 키
+@Component
+public class EndpointContextInterceptor implements AsyncHandlerInterceptor {
+
+  // 임의 헤더 값으로 집계 키가 무한히 늘어나지 않도록 짧은 이름만 허용
+  private static final int MAX_SCENARIO_LENGTH = 64;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    // 매핑 없는 요청은 URL 별로 키가 늘어나지 않도록 하나로 묶음
+    EndpointContext.set(request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)"),
+        scenario(request));
+    return true;
+  }
+
+  private String scenario(HttpServletRequest request) {
+    String scenario = request.getHeader(EndpointContext.SCENARIO_HEADER);
+    if (scenario == null || scenario.isBlank() || scenario.length() > MAX_SCENARIO_LENGTH) {
+      return null;
+    }
+    return scenario;
+  }
+
+  // 비동기 처리(CompletableFuture 반환)로 요청 스레드를 반납하는 경우
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    EndpointContext.clear();
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    EndpointContext.clear();
+  }
+}
@@ -0,0 +1,41 @@
+package study.datajpa.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+@Aspect
+@Component
+public class RepositoryCallAspect {
+
+  // Spring Data 리포지토리 + 순수 JPA 리포지토리(@Repository 클래스)
+  @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+      + " || @within(org.springframework.stereotype.Repository)")
+  public Object bindMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (RepositoryCallContext.current() != null) {
+      return joinPoint.proceed();
+    }
+    RepositoryCallContext.set(methodKey(joinPoint));
+    try {
+      return joinPoint.proceed();
+    } finally {
+      RepositoryCallContext.clear();
+    }
+  }
+
+  public static String methodKey(ProceedingJoinPoint joinPoint) {
+    Object proxy = joinPoint.getThis();
+    // Spring Data 는 JDK 프록시 -> 선언한 리포지토리 인터페이스 이름 사용
+    String type = ClassUtils.getUserClass(proxy).getSimpleName();
+    for (Class<?> ifc : proxy.getClass().getInterfaces()) {
+      if (Repository.class.isAssignableFrom(ifc) && ifc != Repository.class) {
+        type = ifc.getSimpleName();
+        break;
+      }
+    }
+    return type + "." + joinPoint.getSignature().getName();
+  }
+}
@@ -0,0 +1,25 @@
+package study.datajpa.diagnostics;
+
+/**
+ * 현재 스레드에서 실행 중인 리포지토리 메서드 (ex. MemberRepository.findByNames)
+ * 중첩 호출이면 가장 바깥 호출 기준
+ */
+public final class RepositoryCallContext {
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  private RepositoryCallContext() {
+  }
+
+  public static String current() {
+    return CURRENT.get();
+  }
+
+  static void set(String method) {
+    CURRENT.set(method);
+  }
+
+  static void clear() {
+    CURRENT.remove();
+  }
+}
@@ -0,0 +1,93 @@
+package study.datajpa.diagnostics;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * p6spy 이벤트로 리포지토리 메서드별 실행된 SQL 모양(바인딩 전 SQL)을 집계.
+ * 같은 모양이 반복될수록 플랜 캐시, 드라이버의 prepared statement 캐시 재사용이 가능
+ */
+@Component
+public class SqlShapeRecorder extends JdbcEventListener {
+
+  static final String UNKNOWN_METHOD = "(none)";
+
+  private final int maxTrackedShapes;
+  private final Map<String, MethodShapes> methods = new ConcurrentHashMap<>();
+
+  public SqlShapeRecorder(@Value("${diagnostics.max-tracked-shapes:256}") int maxTrackedShapes) {
+    this.maxTrackedShapes = maxTrackedShapes;
+  }
+
+  @Override
+  public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos,
+      SQLException e) {
+    String method = RepositoryCallContext.current();
+    methods.computeIfAbsent(method != null ? method : UNKNOWN_METHOD, key -> new MethodShapes())
+        .record(statementInformation.getSql(), maxTrackedShapes);
+  }
+
+  public Map<String, MethodShapes> snapshot() {
+    return new TreeMap<>(methods);
+  }
+
+  public MethodShapes get(String method) {
+    return methods.getOrDefault(method, new MethodShapes());
+  }
+
+  public void reset() {
+    methods.clear();
+  }
+
+  public static class MethodShapes {
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+    private final Map<String, LongAdder> shapes = new ConcurrentHashMap<>();
+
+    void record(String sql, int maxTrackedShapes) {
+      executions.increment();
+      LongAdder count = shapes.get(sql);
+      if (count == null) {
+        // 모양이 무한히 늘어나는 메서드 때문에 메모리가 새지 않도록 상한
+        if (shapes.size() >= maxTrackedShapes) {
+          untracked.increment();
+          return;
+        }
+        count = shapes.computeIfAbsent(sql, key -> new LongAdder());
+      }
+      count.increment();
+    }
+
+    public long getExecutions() {
+      return executions.sum();
+    }
+
+    public int getDistinctShapes() {
+      return shapes.size() + (untracked.sum() > 0 ? 1 : 0);
+    }
+
+    public long getUntrackedExecutions() {
+      return untracked.sum();
+    }
+
+    // 1 에 가까울수록 같은 SQL 재사용 (statement 캐시 효율)
+    public double getShapeReuseRatio() {
+      long total = getExecutions();
+      return total == 0 ? 0 : 1 - (double) getDistinctShapes() / total;
+    }
+
+    public Map<String, Long> getShapes() {
+      Map<String, Long> result = new TreeMap<>();
+      shapes.forEach((sql, count) -> result.put(sql, count.sum()));
+      return result;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+// 값이 있는 조건만 where 절에 들어감
+@Data
+public class MemberSearchCondition {
+
+  private String username;       // 일치
+  private String usernamePrefix; // username like 'prefix%' -> 인덱스 범위 검색
+  private Integer ageGoe;
+  private Integer ageLoe;
+  private String teamName;
+}
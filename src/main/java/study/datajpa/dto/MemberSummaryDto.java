@@ -0,0 +1,18 @@
+package study.datajpa.dto;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class MemberSummaryDto {
+
+  private long count;
+  private List<String> usernames;
+  private List<MemberDto> members;
+
+  public MemberSummaryDto(long count, List<String> usernames, List<MemberDto> members) {
+    this.count = count;
+    this.usernames = usernames;
+    this.members = members;
+  }
+}
@@ -0,0 +1,19 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamStatsDto {
+
+  private Long teamId;
+  private String teamName;
+  private long memberCount;
+  private double averageAge;
+
+  public TeamStatsDto(Long teamId, String teamName, long memberCount, long ageSum) {
+    this.teamId = teamId;
+    this.teamName = teamName;
+    this.memberCount = memberCount;
+    this.averageAge = memberCount == 0 ? 0 : (double) ageSum / memberCount;
+  }
+}
@@ -0,0 +1,31 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * LocalDateTime <-> epoch millis(bigint 8바이트).
+ * LocalDateTime 은 시간대가 없으므로 UTC 벽시계로 간주 -> 서버 시간대, 서머타임과 무관하게 값이 그대로 왕복.
+ * 밀리초 미만은 버림
+ */
+@Converter
+public class EpochMillisConverter implements AttributeConverter<LocalDateTime, Long> {
+
+  @Override
+  public Long convertToDatabaseColumn(LocalDateTime attribute) {
+    return attribute != null ? toEpochMillis(attribute) : null;
+  }
+
+  @Override
+  public LocalDateTime convertToEntityAttribute(Long dbData) {
+    return dbData != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli(dbData), ZoneOffset.UTC) : null;
+  }
+
+  // JDBC 로 직접 적재할 때도 같은 규칙 사용
+  public static long toEpochMillis(LocalDateTime value) {
+    return value.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+}
@@ -1,14 +1,14 @@
 package study.datajpa.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
-import jakarta.persistence.PrePersist;
-import jakarta.persistence.PreUpdate;
 import java.time.LocalDateTime;
 import lombok.Getter;
 
 @Getter
 @MappedSuperclass
+@EntityListeners(JpaBaseEntityListener.class) // 시각은 flush 단위로 한 번만 읽어서 전달
 public class JpaBaseEntity {
 
   @Column(updatable = false)
@@ -16,17 +16,14 @@ public class JpaBaseEntity {
   private LocalDateTime updatedDate;
 
   // @CreatedDate 로 간단히 사용가능
-  @PrePersist
-  public void PrePersist(){
-    LocalDateTime now = LocalDateTime.now();
+  void prePersist(LocalDateTime now){
     createdDate = now;
     updatedDate = now;
   }
 
   // @LastModifiedDate
-  @PreUpdate
-  public void preUpdate(){
-    updatedDate = LocalDateTime.now();
+  void preUpdate(LocalDateTime now){
+    updatedDate = now;
   }
 
 }
@@ -0,0 +1,22 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import study.datajpa.audit.FlushScopedDateTimeProvider;
+
+@RequiredArgsConstructor
+public class JpaBaseEntityListener {
+
+  private final FlushScopedDateTimeProvider dateTimeProvider;
+
+  @PrePersist
+  public void prePersist(JpaBaseEntity entity) {
+    entity.prePersist(dateTimeProvider.now());
+  }
+
+  @PreUpdate
+  public void preUpdate(JpaBaseEntity entity) {
+    entity.preUpdate(dateTimeProvider.now());
+  }
+}
@@ -1,21 +1,48 @@
 package study.datajpa.entity;
 
+import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+import study.datajpa.cache.MemberUsernameCacheListener;
+import study.datajpa.outbox.OutboxEntityListener;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_member_username", columnList = "username"),
+    @Index(name = "idx_member_team_username", columnList = "team_id, username")})
+// 감사 컬럼 축소: 시각은 bigint(epoch millis), 작성자 UUID 문자열(36자)은 binary(16)
+// 기존 테이블 변환은 db/compact-member-audit.sql (H2 전용 문법)
+// binary(16) 은 H2, MySQL 기준 -> PostgreSQL 은 columnDefinition 을 bytea 로
+@Convert(attributeName = "createdDate", converter = EpochMillisConverter.class)
+@Convert(attributeName = "lastModifiedDate", converter = EpochMillisConverter.class)
+@Convert(attributeName = "createdBy", converter = UuidBytesConverter.class)
+@Convert(attributeName = "lastModifiedBy", converter = UuidBytesConverter.class)
+@AttributeOverride(name = "createdBy",
+    column = @Column(name = "created_by", columnDefinition = "binary(16)", updatable = false))
+@AttributeOverride(name = "lastModifiedBy",
+    column = @Column(name = "last_modified_by", columnDefinition = "binary(16)"))
+@FilterDef(name = Member.TENANT_FILTER, parameters = @ParamDef(name = "teamId", type = Long.class))
+@Filter(name = Member.TENANT_FILTER, condition = "team_id = :teamId") // tenancy.enabled 일 때만 켜짐
+@EntityListeners({MemberUsernameCacheListener.class, OutboxEntityListener.class})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -26,6 +53,8 @@ import lombok.ToString;
 )
 public class Member extends BaseEntity{
 
+  public static final String TENANT_FILTER = "teamTenant";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   @Column(name = "member_id")
@@ -0,0 +1,32 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 변경 기록 테이블 (DDL 생성용 매핑, 쓰기/읽기는 OutboxWriter, OutboxRelay 가 JDBC 로 처리)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "outbox_event_id")
+  private Long id;
+
+  private String aggregateType;
+  private Long aggregateId;
+  private String eventType;
+
+  @Column(length = 2000)
+  private String payload;
+
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 팀별 회원 수, 나이 합계 집계 테이블 -> TeamStatsMaintainer 가 증분 갱신
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamStats {
+
+  @Id
+  @Column(name = "team_id")
+  private Long teamId;
+
+  private long memberCount;
+  private long ageSum;
+}
@@ -0,0 +1,37 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * UUID 문자열(36자) <-> binary(16).
+ * 바이트 순서는 H2 의 cast(uuid as binary(16)) 와 같은 big-endian (상위 64비트, 하위 64비트)
+ */
+@Converter
+public class UuidBytesConverter implements AttributeConverter<String, byte[]> {
+
+  @Override
+  public byte[] convertToDatabaseColumn(String attribute) {
+    return attribute != null ? toBytes(attribute) : null;
+  }
+
+  @Override
+  public String convertToEntityAttribute(byte[] dbData) {
+    if (dbData == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(dbData);
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+
+  // UUID 형식이 아니면 IllegalArgumentException (auditorProvider 는 UUID 만 반환)
+  public static byte[] toBytes(String uuid) {
+    UUID value = UUID.fromString(uuid);
+    return ByteBuffer.allocate(16)
+        .putLong(value.getMostSignificantBits())
+        .putLong(value.getLeastSignificantBits())
+        .array();
+  }
+}
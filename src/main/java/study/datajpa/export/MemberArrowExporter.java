@@ -0,0 +1,189 @@
+package study.datajpa.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import javax.sql.DataSource;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * member left join team 을 엔티티 없이 JDBC 로 읽어서 Arrow IPC 파일로 저장.
+ * 컬럼별 벡터에 batchSize 행씩 채워서 record batch 단위로 기록 -> 메모리는 batch 하나 분량만 사용.
+ * 비교용 CSV 출력도 같은 쿼리, 같은 스트리밍 방식
+ */
+@Component
+public class MemberArrowExporter {
+
+  static final String EXPORT_SQL = "select m.member_id, m.username, m.age, m.team_id, t.name as team_name"
+      + " from member m left join team t on t.team_id = m.team_id order by m.member_id";
+
+  static final Schema SCHEMA = new Schema(List.of(
+      new Field("member_id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+      new Field("username", FieldType.nullable(new ArrowType.Utf8()), null),
+      new Field("age", FieldType.notNullable(new ArrowType.Int(32, true)), null),
+      new Field("team_id", FieldType.nullable(new ArrowType.Int(64, true)), null),
+      new Field("team_name", FieldType.nullable(new ArrowType.Utf8()), null)));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final MemberExportProperties properties;
+
+  public MemberArrowExporter(DataSource dataSource, MemberExportProperties properties) {
+    // 전체를 메모리에 올리지 않도록 fetch size 지정한 전용 JdbcTemplate
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(properties.getBatchSize());
+    this.properties = properties;
+  }
+
+  public MemberExportResult exportArrow(Path file) {
+    try (BufferAllocator allocator = new RootAllocator()) {
+      MemberExportResult result = writeAtomically(file, tmp -> writeArrow(tmp, allocator));
+      return new MemberExportResult(result.file(), result.rows(), result.bytes(), result.millis(),
+          allocator.getPeakMemoryAllocation());
+    }
+  }
+
+  public MemberExportResult exportCsv(Path file) {
+    return writeAtomically(file, this::writeCsv);
+  }
+
+  // 같은 디렉터리의 임시 파일에 다 쓴 뒤 rename -> 동시 export, 실패한 export 가 기존 파일을 깨뜨리지 않음
+  private MemberExportResult writeAtomically(Path file, ToLongFunction<Path> writer) {
+    long start = System.nanoTime();
+    Path dir = file.toAbsolutePath().getParent();
+    Path tmp = null;
+    try {
+      tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+      long rows = writer.applyAsLong(tmp);
+      long size = Files.size(tmp);
+      Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      return new MemberExportResult(file, rows, size, (System.nanoTime() - start) / 1_000_000);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deleteIfExists(tmp);
+    }
+  }
+
+  private long writeArrow(Path file, BufferAllocator allocator) {
+    long[] rows = {0};
+    try (VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        ArrowFileWriter writer = new ArrowFileWriter(root, null, channel)) {
+      BigIntVector memberId = (BigIntVector) root.getVector("member_id");
+      VarCharVector username = (VarCharVector) root.getVector("username");
+      IntVector age = (IntVector) root.getVector("age");
+      BigIntVector teamId = (BigIntVector) root.getVector("team_id");
+      VarCharVector teamName = (VarCharVector) root.getVector("team_name");
+      int batchSize = properties.getBatchSize();
+      int[] index = {0};
+
+      writer.start();
+      root.allocateNew();
+      jdbcTemplate.query(EXPORT_SQL, (RowCallbackHandler) rs -> {
+        int i = index[0];
+        memberId.setSafe(i, rs.getLong(1));
+        setUtf8(username, i, rs.getString(2));
+        age.setSafe(i, rs.getInt(3));
+        long team = rs.getLong(4);
+        if (rs.wasNull()) {
+          teamId.setNull(i);
+        } else {
+          teamId.setSafe(i, team);
+        }
+        setUtf8(teamName, i, rs.getString(5));
+        rows[0]++;
+        if (++index[0] == batchSize) {
+          writeBatch(root, writer, index[0]);
+          index[0] = 0;
+        }
+      });
+      if (index[0] > 0) {
+        writeBatch(root, writer, index[0]);
+      }
+      writer.end();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return rows[0];
+  }
+
+  private long writeCsv(Path file) {
+    long[] rows = {0};
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write("member_id,username,age,team_id,team_name\n");
+      jdbcTemplate.query(EXPORT_SQL, (RowCallbackHandler) rs -> {
+        try {
+          writer.write(rs.getLong(1) + "," + csv(rs.getString(2)) + "," + rs.getInt(3) + ","
+              + (rs.getObject(4) != null ? rs.getLong(4) : "") + "," + csv(rs.getString(5)) + "\n");
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        rows[0]++;
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return rows[0];
+  }
+
+  private void writeBatch(VectorSchemaRoot root, ArrowFileWriter writer, int rowCount) {
+    root.setRowCount(rowCount);
+    try {
+      writer.writeBatch();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    root.allocateNew(); // 버퍼 재할당 -> 다음 batch
+  }
+
+  private static void setUtf8(VarCharVector vector, int index, String value) {
+    if (value == null) {
+      vector.setNull(index);
+    } else {
+      vector.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static String csv(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+      return value;
+    }
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+
+  private static void deleteIfExists(Path tmp) {
+    if (tmp == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(tmp);
+    } catch (IOException ignored) {
+      // 남은 임시 파일은 다음 export 에 영향 없음
+    }
+  }
+}
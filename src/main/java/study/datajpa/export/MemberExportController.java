@@ -0,0 +1,29 @@
+package study.datajpa.export;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// 파일은 서버 로컬(member.export.dir)에 저장, 응답은 행 수, 크기, 처리량
+@RestController
+@RequiredArgsConstructor
+public class MemberExportController {
+
+  private final MemberArrowExporter exporter;
+  private final MemberExportProperties properties;
+
+  @PostMapping("/exports/members")
+  public MemberExportResult export(@RequestParam(value = "format", defaultValue = "arrow") String format)
+      throws IOException {
+    Path dir = Files.createDirectories(Path.of(properties.getDir()));
+    return switch (format) {
+      case "arrow" -> exporter.exportArrow(dir.resolve("members.arrow"));
+      case "csv" -> exporter.exportCsv(dir.resolve("members.csv"));
+      default -> throw new IllegalArgumentException("unsupported format: " + format);
+    };
+  }
+}
@@ -0,0 +1,15 @@
+package study.datajpa.export;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "member.export")
+public class MemberExportProperties {
+
+  private String dir = "./data/export";
+  // Arrow record batch(row group) 당 행 수, JDBC fetch size 로도 사용
+  private int batchSize = 65_536;
+}
@@ -0,0 +1,18 @@
+package study.datajpa.export;
+
+import java.nio.file.Path;
+
+/**
+ * peakBufferBytes: export 중 Arrow 버퍼(off-heap) 최대 사용량, CSV 는 0.
+ * 행 수와 상관없이 record batch 하나 분량이어야 함
+ */
+public record MemberExportResult(Path file, long rows, long bytes, long millis, long peakBufferBytes) {
+
+  public MemberExportResult(Path file, long rows, long bytes, long millis) {
+    this(file, rows, bytes, millis, 0);
+  }
+
+  public double getRowsPerSecond() {
+    return millis == 0 ? rows : rows * 1000.0 / millis;
+  }
+}
@@ -0,0 +1,69 @@
+package study.datajpa.guard;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 요청마다 QueryCancellationScope 를 만들어 요청 스레드에 바인딩.
+ * 비동기 요청(CompletableFuture 반환)은 클라이언트 연결 끊김(onError), 비동기 타임아웃(onTimeout) 시
+ * 아직 실행 중인 쿼리를 취소 -> 응답 받을 사람이 없는 쿼리가 커넥션을 계속 잡지 않음.
+ * 동기 요청은 요청 스레드가 쿼리에 묶여 있어서 끊김을 알 수 없음 -> 쿼리 타임아웃으로만 제한
+ */
+@Component
+@ConditionalOnProperty(prefix = "repository.guard", name = "enabled", havingValue = "true")
+public class QueryCancellationInterceptor implements AsyncHandlerInterceptor {
+
+  private static final String SCOPE_ATTRIBUTE = QueryCancellationScope.class.getName();
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    // 비동기 결과로 다시 dispatch 될 때는 처음 만든 scope 그대로 사용
+    QueryCancellationScope scope = (QueryCancellationScope) request.getAttribute(SCOPE_ATTRIBUTE);
+    if (scope == null) {
+      scope = new QueryCancellationScope();
+      request.setAttribute(SCOPE_ATTRIBUTE, scope);
+    }
+    QueryCancellationScope.bind(scope);
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    QueryCancellationScope scope = (QueryCancellationScope) request.getAttribute(SCOPE_ATTRIBUTE);
+    QueryCancellationScope.bind(null);
+    if (scope == null || !request.isAsyncStarted()) {
+      return;
+    }
+    request.getAsyncContext().addListener(new AsyncListener() {
+      @Override
+      public void onComplete(AsyncEvent event) {
+      }
+
+      @Override
+      public void onTimeout(AsyncEvent event) {
+        scope.cancel("async request timeout");
+      }
+
+      @Override
+      public void onError(AsyncEvent event) {
+        scope.cancel("client disconnected");
+      }
+
+      @Override
+      public void onStartAsync(AsyncEvent event) {
+      }
+    });
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    QueryCancellationScope.bind(null);
+  }
+}
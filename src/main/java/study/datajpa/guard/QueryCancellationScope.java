@@ -0,0 +1,104 @@
+package study.datajpa.guard;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청 하나에서 실행 중인 JDBC statement 모음.
+ * 클라이언트 연결이 끊기거나 비동기 요청이 타임아웃되면 cancel() -> 실행 중인 statement 를 Statement.cancel(),
+ * 이후 실행하려는 statement 는 바로 실패 (DB 에서 끝까지 읽고 버리는 일 방지).
+ * 요청 스레드에 바인딩, @Async 스레드로는 TaskDecorator(wrap) 로 전파
+ */
+@Slf4j
+public final class QueryCancellationScope {
+
+  // H2 등에서 쿼리 취소/타임아웃에 쓰는 SQLState -> Hibernate 가 QueryTimeoutException 으로 변환
+  static final String CANCELLED_SQL_STATE = "57014";
+
+  private static final ThreadLocal<QueryCancellationScope> CURRENT = new ThreadLocal<>();
+
+  private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+  private volatile String cancelReason;
+
+  public static QueryCancellationScope current() {
+    return CURRENT.get();
+  }
+
+  static void bind(QueryCancellationScope scope) {
+    if (scope == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(scope);
+    }
+  }
+
+  public <T> T call(Supplier<T> action) {
+    QueryCancellationScope previous = CURRENT.get();
+    bind(this);
+    try {
+      return action.get();
+    } finally {
+      bind(previous);
+    }
+  }
+
+  // @Async 스레드로 요청의 scope 전파 (TaskDecorator)
+  public static Runnable wrap(Runnable task) {
+    QueryCancellationScope scope = CURRENT.get();
+    if (scope == null) {
+      return task;
+    }
+    return () -> scope.call(() -> {
+      task.run();
+      return null;
+    });
+  }
+
+  public boolean isCancelled() {
+    return cancelReason != null;
+  }
+
+  public void cancel(String reason) {
+    if (cancelReason != null) {
+      return;
+    }
+    cancelReason = reason;
+    for (Statement statement : running) {
+      try {
+        statement.cancel();
+      } catch (SQLException e) {
+        log.debug("statement cancel failed ({})", reason, e);
+      }
+    }
+  }
+
+  void begin(Statement statement) throws SQLException {
+    checkCancelled();
+    running.add(statement);
+    // add 와 cancel 사이에 취소된 경우
+    if (isCancelled()) {
+      running.remove(statement);
+      checkCancelled();
+    }
+  }
+
+  void end(Statement statement) {
+    running.remove(statement);
+  }
+
+  int running() {
+    return running.size();
+  }
+
+  private void checkCancelled() throws SQLTimeoutException {
+    String reason = cancelReason;
+    if (reason != null) {
+      throw new SQLTimeoutException("query cancelled: " + reason, CANCELLED_SQL_STATE, 57014);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package study.datajpa.guard;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import study.datajpa.diagnostics.RepositoryCallAspect;
+import study.datajpa.guard.QueryGuardProperties.Violation;
+import study.datajpa.guard.QueryGuardStats.Trips;
+
+/**
+ * List 를 반환하는 리포지토리 메서드(findAll, findMemberFetchJoin, findMemberDto ...)의 행 수, 타임아웃 제한.
+ * 제한 + 1 개까지만 읽어서 넘치면 FAIL -> 예외, TRUNCATE -> 제한 개수만 반환.
+ * 행 수는 JDBC row 기준이라 컬렉션 fetch join 에는 맞지 않음 (Member 의 조회는 모두 ToOne 조인)
+ * 페이징(Pageable) 조회는 이미 제한돼 있으므로 제외.
+ * @Async 메서드는 비동기 인터셉터가 먼저 -> 이 advice 는 실행 스레드에서 돌고 완료된 CompletableFuture 를 받음
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "repository.guard", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class QueryGuardAspect {
+
+  private final QueryGuardProperties properties;
+  private final QueryGuardStats stats;
+
+  @Around("execution(java.util.List org.springframework.data.repository.Repository+.*(..))"
+      + " || execution(java.util.concurrent.CompletableFuture org.springframework.data.repository.Repository+.*(..))")
+  public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (QueryGuardContext.current() != null || isPaged(joinPoint.getArgs())) {
+      return joinPoint.proceed();
+    }
+    QueryGuardRule rule = properties.resolve(RepositoryCallAspect.methodKey(joinPoint));
+    Trips trips = stats.of(rule.method());
+    trips.recordCall();
+
+    QueryGuardContext.set(rule);
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable e) {
+      recordFailure(rule, trips, e);
+      throw e;
+    } finally {
+      QueryGuardContext.clear();
+    }
+
+    if (result instanceof CompletableFuture<?> future) {
+      return future.thenApply(value -> enforce(rule, trips, value));
+    }
+    return enforce(rule, trips, result);
+  }
+
+  private Object enforce(QueryGuardRule rule, Trips trips, Object result) {
+    if (!rule.limitsRows() || !(result instanceof List<?> list) || list.size() <= rule.maxRows()) {
+      return result;
+    }
+    if (rule.onViolation() == Violation.TRUNCATE) {
+      trips.recordTruncated();
+      log.warn("{} returned more than {} rows, truncated", rule.method(), rule.maxRows());
+      return new ArrayList<>(list.subList(0, rule.maxRows()));
+    }
+    trips.recordRejected();
+    throw new IncorrectResultSizeDataAccessException(
+        rule.method() + " returned more than " + rule.maxRows() + " rows", rule.maxRows(), list.size());
+  }
+
+  private void recordFailure(QueryGuardRule rule, Trips trips, Throwable e) {
+    if (!isTimeout(e)) {
+      return;
+    }
+    QueryCancellationScope scope = QueryCancellationScope.current();
+    if (scope != null && scope.isCancelled()) {
+      trips.recordCancelled();
+      log.info("{} cancelled", rule.method());
+    } else {
+      trips.recordTimedOut();
+      log.warn("{} timed out (timeout={})", rule.method(), rule.timeout());
+    }
+  }
+
+  // 타임아웃, Statement.cancel() 모두 JDBC 에서는 SQLTimeoutException / SQLState 57014
+  private static boolean isTimeout(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLTimeoutException || (cause instanceof SQLException sqlException
+          && QueryCancellationScope.CANCELLED_SQL_STATE.equals(sqlException.getSQLState()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isPaged(Object[] args) {
+    for (Object arg : args) {
+      if (arg instanceof Pageable pageable && pageable.isPaged()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,25 @@
+package study.datajpa.guard;
+
+/**
+ * 현재 스레드에서 실행 중인 가드 대상 리포지토리 메서드의 제한.
+ * 중첩 호출이면 가장 바깥 호출 기준
+ */
+final class QueryGuardContext {
+
+  private static final ThreadLocal<QueryGuardRule> CURRENT = new ThreadLocal<>();
+
+  private QueryGuardContext() {
+  }
+
+  static QueryGuardRule current() {
+    return CURRENT.get();
+  }
+
+  static void set(QueryGuardRule rule) {
+    CURRENT.set(rule);
+  }
+
+  static void clear() {
+    CURRENT.remove();
+  }
+}
@@ -0,0 +1,123 @@
+package study.datajpa.guard;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecorator;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * JDBC statement 실행 직전에 현재 가드 제한 적용 + 요청 scope 에 실행 중인 statement 등록.
+ * - maxRows: 제한 + 1 개까지만 읽음 -> 넘쳤는지는 알 수 있고 그 이상은 DB 에서 가져오지 않음
+ * - timeout: Hibernate 가 설정한 쿼리 타임아웃(jakarta.persistence.query.timeout)보다 우선
+ * 가드 대상 호출, 요청 scope 밖에서 얻은 커넥션 / 만든 statement 는 프록시 없이 그대로 반환.
+ * 리포지토리가 여는 트랜잭션은 가드 advice 안에서 커넥션을 얻으므로 적용됨,
+ * 요청 scope 없이 바깥에서 먼저 연 트랜잭션(스케줄러 등)의 커넥션은 가드 적용 x
+ */
+@Component
+@ConditionalOnProperty(prefix = "repository.guard", name = "enabled", havingValue = "true")
+public class QueryGuardDataSourceDecorator implements DataSourceDecorator {
+
+  @Override
+  public DataSource decorate(String beanName, DataSource dataSource) {
+    return new DelegatingDataSource(dataSource) {
+      @Override
+      public Connection getConnection() throws SQLException {
+        return guard(super.getConnection());
+      }
+
+      @Override
+      public Connection getConnection(String username, String password) throws SQLException {
+        return guard(super.getConnection(username, password));
+      }
+    };
+  }
+
+  static Connection guard(Connection connection) {
+    if (!isBound()) {
+      return connection;
+    }
+    return (Connection) Proxy.newProxyInstance(QueryGuardDataSourceDecorator.class.getClassLoader(),
+        new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+  }
+
+  private static boolean isBound() {
+    return QueryGuardContext.current() != null || QueryCancellationScope.current() != null;
+  }
+
+  private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+    switch (method.getName()) {
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      default:
+        try {
+          return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+          throw e.getTargetException();
+        }
+    }
+  }
+
+  private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object result = QueryGuardDataSourceDecorator.invoke(target, proxy, method, args);
+      if (!(result instanceof Statement statement) || !isBound()) {
+        return result;
+      }
+      Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+          : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+      return Proxy.newProxyInstance(QueryGuardDataSourceDecorator.class.getClassLoader(),
+          new Class<?>[]{type}, new StatementHandler(statement));
+    }
+  }
+
+  private record StatementHandler(Statement target) implements InvocationHandler {
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (!method.getName().startsWith("execute")) {
+        return QueryGuardDataSourceDecorator.invoke(target, proxy, method, args);
+      }
+      applyLimits(QueryGuardContext.current());
+      QueryCancellationScope scope = QueryCancellationScope.current();
+      if (scope == null) {
+        return QueryGuardDataSourceDecorator.invoke(target, proxy, method, args);
+      }
+      scope.begin(target);
+      try {
+        return QueryGuardDataSourceDecorator.invoke(target, proxy, method, args);
+      } finally {
+        scope.end(target);
+      }
+    }
+
+    private void applyLimits(QueryGuardRule rule) throws SQLException {
+      if (rule == null) {
+        return;
+      }
+      if (rule.limitsRows()) {
+        int maxRows = rule.maxRows() + 1;
+        int current = target.getMaxRows();
+        if (current == 0 || current > maxRows) {
+          target.setMaxRows(maxRows);
+        }
+      }
+      if (rule.timeoutSeconds() > 0) {
+        target.setQueryTimeout(rule.timeoutSeconds());
+      }
+    }
+  }
+}
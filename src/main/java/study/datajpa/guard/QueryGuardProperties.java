@@ -0,0 +1,48 @@
+package study.datajpa.guard;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "repository.guard")
+public class QueryGuardProperties {
+
+  private boolean enabled = false;
+  // List 를 반환하는 리포지토리 메서드의 최대 행 수, 0 이면 제한 x
+  private int maxRows = 10_000;
+  // null 이면 jakarta.persistence.query.timeout (전역 쿼리 타임아웃) 그대로
+  private Duration timeout;
+  private Violation onViolation = Violation.FAIL;
+  // 메서드별 설정, 키는 리포지토리.메서드 (ex. methods[MemberRepository.findAll].max-rows=500)
+  private Map<String, Limit> methods = new LinkedHashMap<>();
+
+  QueryGuardRule resolve(String method) {
+    Limit limit = methods.get(method);
+    if (limit == null) {
+      return new QueryGuardRule(method, maxRows, timeout, onViolation);
+    }
+    return new QueryGuardRule(method,
+        limit.getMaxRows() != null ? limit.getMaxRows() : maxRows,
+        limit.getTimeout() != null ? limit.getTimeout() : timeout,
+        limit.getOnViolation() != null ? limit.getOnViolation() : onViolation);
+  }
+
+  public enum Violation {
+    FAIL,     // IncorrectResultSizeDataAccessException
+    TRUNCATE  // maxRows 개까지만 반환 + 경고 로그
+  }
+
+  @Getter
+  @Setter
+  public static class Limit {
+
+    private Integer maxRows;
+    private Duration timeout;
+    private Violation onViolation;
+  }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.guard;
+
+import java.time.Duration;
+import study.datajpa.guard.QueryGuardProperties.Violation;
+
+/**
+ * 리포지토리 메서드 하나에 적용되는 행 수 / 타임아웃 제한
+ */
+record QueryGuardRule(String method, int maxRows, Duration timeout, Violation onViolation) {
+
+  boolean limitsRows() {
+    return maxRows > 0;
+  }
+
+  // JDBC 타임아웃은 초 단위, 1초 미만은 1초로 올림 (0 은 무제한이라 내림 x)
+  int timeoutSeconds() {
+    if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+      return 0;
+    }
+    return (int) Math.max(1, (timeout.toMillis() + 999) / 1000);
+  }
+}
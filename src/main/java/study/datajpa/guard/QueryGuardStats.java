@@ -0,0 +1,79 @@
+package study.datajpa.guard;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리포지토리 메서드별 가드 발동 횟수 (/diagnostics/query-guard)
+ */
+@Component
+@ConditionalOnProperty(prefix = "repository.guard", name = "enabled", havingValue = "true")
+public class QueryGuardStats {
+
+  private final Map<String, Trips> methods = new ConcurrentHashMap<>();
+
+  Trips of(String method) {
+    return methods.computeIfAbsent(method, key -> new Trips());
+  }
+
+  public Map<String, Trips> snapshot() {
+    return new TreeMap<>(methods);
+  }
+
+  public void reset() {
+    methods.clear();
+  }
+
+  public static class Trips {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    void recordCall() {
+      calls.increment();
+    }
+
+    void recordRejected() {
+      rejected.increment();
+    }
+
+    void recordTruncated() {
+      truncated.increment();
+    }
+
+    void recordTimedOut() {
+      timedOut.increment();
+    }
+
+    void recordCancelled() {
+      cancelled.increment();
+    }
+
+    public long getCalls() {
+      return calls.sum();
+    }
+
+    public long getRejected() {
+      return rejected.sum();
+    }
+
+    public long getTruncated() {
+      return truncated.sum();
+    }
+
+    public long getTimedOut() {
+      return timedOut.sum();
+    }
+
+    public long getCancelled() {
+      return cancelled.sum();
+    }
+  }
+}
@@ -0,0 +1,5 @@
+package study.datajpa.ingest;
+
+public record MemberCreateCommand(String username, int age, Long teamId) {
+
+}
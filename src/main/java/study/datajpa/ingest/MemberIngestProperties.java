@@ -0,0 +1,20 @@
+package study.datajpa.ingest;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "member.ingest")
+public class MemberIngestProperties {
+
+  private boolean enabled = false;
+  private int queueCapacity = 10_000;
+  private int batchSize = 500;
+  // 배치가 다 차지 않아도 이 시간이 지나면 커밋
+  private Duration maxDelay = Duration.ofMillis(20);
+  // 큐가 가득 찼을 때 submit 대기 시간, 넘으면 거절
+  private Duration offerTimeout = Duration.ofMillis(100);
+}
@@ -0,0 +1,256 @@
+package study.datajpa.ingest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.EpochMillisConverter;
+import study.datajpa.entity.UuidBytesConverter;
+import study.datajpa.ingest.MembersIngestedEvent.IngestedMember;
+
+/**
+ * 회원 생성 요청을 메모리 큐에 모았다가 batchSize 또는 maxDelay 기준으로 한 트랜잭션에 batch insert.
+ *
+ * 내구성: 커밋 전까지 요청은 이 JVM 메모리에만 존재한다. 프로세스가 죽으면 큐에 남은 요청은 유실되고,
+ * 반환된 future 가 완료(생성된 id)되었다면 DB 커밋까지 끝난 것이다. 유실이 허용되지 않는 요청은
+ * 기존처럼 MemberRepository.save 를 사용해야 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "member.ingest", name = "enabled", havingValue = "true")
+public class MemberIngestionPipeline {
+
+  private static final String INSERT_SQL = "insert into member (username, age, team_id, created_date,"
+      + " last_modified_date, created_by, last_modified_by) values (?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final AuditorAware<String> auditorProvider;
+  private final Clock clock;
+  private final MemberIngestProperties properties;
+  private final ApplicationEventPublisher publisher;
+  private final BlockingQueue<Pending> queue;
+  private final AtomicLong committedBatches = new AtomicLong();
+  private final AtomicLong committedMembers = new AtomicLong();
+
+  // submit(확인 + offer)은 read lock, 중지는 write lock -> 중지 후에 큐에 들어가는 요청이 없음
+  private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+  private volatile boolean running;
+  private Thread worker;
+
+  public MemberIngestionPipeline(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+      AuditorAware<String> auditorProvider, Clock clock, MemberIngestProperties properties,
+      ApplicationEventPublisher publisher) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.auditorProvider = auditorProvider;
+    this.clock = clock;
+    this.properties = properties;
+    this.publisher = publisher;
+    this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    worker = new Thread(this::runLoop, "member-ingest");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  // 종료 시 이미 받은 요청은 모두 커밋하고 끝냄
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    stopAccepting();
+    worker.join(properties.getMaxDelay().toMillis() * 10 + 5_000);
+  }
+
+  public CompletableFuture<Long> submit(MemberCreateCommand command) {
+    CompletableFuture<Long> future = new CompletableFuture<>();
+    stateLock.readLock().lock();
+    try {
+      if (!running) {
+        future.completeExceptionally(new RejectedExecutionException("member ingest pipeline is stopped"));
+        return future;
+      }
+      // 큐가 가득 차면 잠시 대기 후 거절 -> 호출자에게 backpressure 전달
+      if (!queue.offer(new Pending(command, future), properties.getOfferTimeout().toMillis(),
+          TimeUnit.MILLISECONDS)) {
+        future.completeExceptionally(new RejectedExecutionException("member ingest queue is full"));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.completeExceptionally(e);
+    } finally {
+      stateLock.readLock().unlock();
+    }
+    return future;
+  }
+
+  private void stopAccepting() {
+    stateLock.writeLock().lock();
+    try {
+      running = false;
+    } finally {
+      stateLock.writeLock().unlock();
+    }
+  }
+
+  public long getCommittedBatches() {
+    return committedBatches.get();
+  }
+
+  public long getCommittedMembers() {
+    return committedMembers.get();
+  }
+
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  private void runLoop() {
+    List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+    try {
+      while (running || !queue.isEmpty()) {
+        try {
+          collect(batch);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          stopAccepting();
+        }
+        if (!batch.isEmpty()) {
+          flush(batch);
+          batch.clear();
+        }
+      }
+    } finally {
+      // 인터럽트 등으로 큐를 다 비우지 못하고 끝난 경우 남은 요청은 실패 처리 (future 가 영원히 대기하지 않도록)
+      stopAccepting();
+      batch.clear();
+      queue.drainTo(batch);
+      RejectedExecutionException stopped = new RejectedExecutionException("member ingest pipeline is stopped");
+      batch.forEach(pending -> pending.future().completeExceptionally(stopped));
+    }
+  }
+
+  private void collect(List<Pending> batch) throws InterruptedException {
+    long maxDelayNanos = properties.getMaxDelay().toNanos();
+    Pending first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+
+    long deadline = System.nanoTime() + maxDelayNanos;
+    while (batch.size() < properties.getBatchSize()) {
+      if (queue.drainTo(batch, properties.getBatchSize() - batch.size()) > 0) {
+        continue;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+      Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void flush(List<Pending> batch) {
+    List<Long> ids;
+    try {
+      ids = transactionTemplate.execute(status -> insert(batch));
+    } catch (RuntimeException e) {
+      log.warn("member ingest batch of {} failed", batch.size(), e);
+      for (Pending pending : batch) {
+        pending.future().completeExceptionally(e);
+      }
+      return;
+    }
+    // 커밋 완료 -> id 는 커밋 전에 요청 수만큼 확인했으므로 여기서는 실패하지 않음
+    committedBatches.incrementAndGet();
+    committedMembers.addAndGet(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      batch.get(i).future().complete(ids.get(i));
+    }
+  }
+
+  private List<Long> insert(List<Pending> batch) {
+    // Member 의 컨버터와 같은 형식 (epoch millis, binary(16)), 배치당 한 번
+    long now = EpochMillisConverter.toEpochMillis(LocalDateTime.now(clock));
+    byte[] auditor = auditorProvider.getCurrentAuditor().map(UuidBytesConverter::toBytes).orElse(null);
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+
+    jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"member_id"}),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            MemberCreateCommand command = batch.get(i).command();
+            ps.setString(1, command.username());
+            ps.setInt(2, command.age());
+            if (command.teamId() == null) {
+              ps.setNull(3, Types.BIGINT);
+            } else {
+              ps.setLong(3, command.teamId());
+            }
+            ps.setLong(4, now);
+            ps.setLong(5, now);
+            ps.setBytes(6, auditor);
+            ps.setBytes(7, auditor);
+          }
+
+          @Override
+          public int getBatchSize() {
+            return batch.size();
+          }
+        }, keyHolder);
+
+    // 생성된 키가 요청 수와 다르면 어느 요청이 어느 id 인지 알 수 없음 -> 롤백
+    if (keyHolder.getKeyList().size() != batch.size()) {
+      throw new IllegalStateException("expected " + batch.size() + " generated keys but got "
+          + keyHolder.getKeyList().size());
+    }
+    List<Long> ids = new ArrayList<>(batch.size());
+    for (Map<String, Object> keys : keyHolder.getKeyList()) {
+      ids.add(((Number) keys.values().iterator().next()).longValue());
+    }
+
+    // outbox, team_stats 등은 같은 트랜잭션에서 기록
+    List<IngestedMember> members = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      MemberCreateCommand command = batch.get(i).command();
+      members.add(new IngestedMember(ids.get(i), command.username(), command.age(), command.teamId()));
+    }
+    publisher.publishEvent(new MembersIngestedEvent(members));
+    return ids;
+  }
+
+  private record Pending(MemberCreateCommand command, CompletableFuture<Long> future) {
+  }
+}
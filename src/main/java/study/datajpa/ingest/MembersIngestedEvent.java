@@ -0,0 +1,14 @@
+package study.datajpa.ingest;
+
+import java.util.List;
+
+/**
+ * 파이프라인이 JDBC 로 insert 한 회원 (하이버네이트 이벤트, 엔티티 리스너가 발생하지 않음).
+ * insert 트랜잭션 안에서 동기적으로 발행됨 -> 같은 트랜잭션에 기록할 것(outbox, 집계)은 @EventListener,
+ * 커밋 후에 반영할 것(메모리 인덱스 등)은 @TransactionalEventListener 로 받음
+ */
+public record MembersIngestedEvent(List<IngestedMember> members) {
+
+  public record IngestedMember(long id, String username, int age, Long teamId) {
+  }
+}
@@ -0,0 +1,112 @@
+package study.datajpa.lock;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * findLockByUsername(SELECT ... FOR UPDATE) 앞에 JVM 내 락을 둔다.
+ * 같은 username 을 노리는 스레드는 커넥션을 잡기 전에 여기서 기다리므로
+ * 노드당 한 스레드만 DB 로우 락을 두고 경쟁 -> 커넥션 풀 고갈 방지.
+ * 스트라이프는 트랜잭션(커넥션)을 시작하기 전에 잡고 트랜잭션이 끝날 때(afterCompletion) 해제.
+ * 이미 트랜잭션 안에서 호출하면 커넥션을 잡은 채로 기다리게 되므로 거절
+ */
+@Component
+public class MemberLockService {
+
+  private final MemberRepository memberRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final UsernameLockProperties properties;
+  private final UsernameLockStripes stripes;
+
+  private final LongAdder acquisitions = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+
+  public MemberLockService(MemberRepository memberRepository, TransactionTemplate transactionTemplate,
+      UsernameLockProperties properties) {
+    this.memberRepository = memberRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.properties = properties;
+    this.stripes = new UsernameLockStripes(properties.getStripes(), properties.isFair());
+  }
+
+  public <T> T withUsernameLock(String username, Function<List<Member>, T> work) {
+    // 바깥 트랜잭션이 있으면 이미 커넥션을 잡은 채로 스트라이프를 기다리게 됨 -> 풀 고갈 방지 목적에 어긋남
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      throw new IllegalStateException("withUsernameLock must be called outside of a transaction");
+    }
+    if (!properties.isEnabled()) {
+      return lockInTransaction(username, work);
+    }
+
+    // 커넥션(트랜잭션)보다 먼저 스트라이프 획득, 해제는 트랜잭션 종료(커밋/롤백 -> DB 로우 락 해제) 후
+    ReentrantLock lock = acquire(username);
+    AtomicBoolean releaseRegistered = new AtomicBoolean();
+    try {
+      return transactionTemplate.execute(status -> {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int completionStatus) {
+            lock.unlock();
+          }
+        });
+        releaseRegistered.set(true);
+        return work.apply(memberRepository.findLockByUsername(username));
+      });
+    } finally {
+      // 트랜잭션 시작 자체가 실패한 경우
+      if (!releaseRegistered.get()) {
+        lock.unlock();
+      }
+    }
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  public long getAcquisitions() {
+    return acquisitions.sum();
+  }
+
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  public long getTotalWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+  }
+
+  private <T> T lockInTransaction(String username, Function<List<Member>, T> work) {
+    return transactionTemplate.execute(status -> work.apply(memberRepository.findLockByUsername(username)));
+  }
+
+  private ReentrantLock acquire(String username) {
+    ReentrantLock lock = stripes.lockFor(username);
+    long start = System.nanoTime();
+    try {
+      if (!lock.tryLock(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+        timeouts.increment();
+        throw new CannotAcquireLockException("username lock timeout: " + username);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CannotAcquireLockException("interrupted while waiting username lock: " + username, e);
+    } finally {
+      waitNanos.add(System.nanoTime() - start);
+    }
+    acquisitions.increment();
+    return lock;
+  }
+}
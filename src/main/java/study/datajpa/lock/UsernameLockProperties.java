@@ -0,0 +1,18 @@
+package study.datajpa.lock;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "member.username-lock")
+public class UsernameLockProperties {
+
+  private boolean enabled = false;
+  private int stripes = 64;
+  // true 면 먼저 기다린 스레드가 먼저 획득 (처리량은 약간 떨어짐)
+  private boolean fair = false;
+  private Duration timeout = Duration.ofSeconds(3);
+}
@@ -0,0 +1,31 @@
+package study.datajpa.lock;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * username 해시로 고정 개수의 락 중 하나를 고른다 (lock striping).
+ * 키마다 락을 만들지 않으므로 메모리가 일정하고, 다른 username 이 같은 스트라이프를 공유할 수는 있음
+ */
+public class UsernameLockStripes {
+
+  private final ReentrantLock[] locks;
+  private final int mask;
+
+  public UsernameLockStripes(int stripes, boolean fair) {
+    int size = Integer.highestOneBit(Math.max(stripes, 2) - 1) << 1;
+    this.locks = new ReentrantLock[size];
+    for (int i = 0; i < size; i++) {
+      locks[i] = new ReentrantLock(fair);
+    }
+    this.mask = size - 1;
+  }
+
+  public ReentrantLock lockFor(String username) {
+    int h = username.hashCode();
+    return locks[(h ^ (h >>> 16)) & mask];
+  }
+
+  public int size() {
+    return locks.length;
+  }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class InMemoryOutboxSink implements OutboxSink {
+
+  private final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(List<OutboxMessage> batch) {
+    messages.addAll(batch);
+  }
+
+  public List<OutboxMessage> getMessages() {
+    return new ArrayList<>(messages);
+  }
+
+  public void clear() {
+    messages.clear();
+  }
+}
@@ -0,0 +1,81 @@
+package study.datajpa.outbox;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+import study.datajpa.outbox.OutboxWriter.Entry;
+import study.datajpa.repository.RepositoryBulkUpdateEvent;
+
+/**
+ * 벌크 연산은 건별 이벤트 대신 연산 + 변경된 id 목록을 기록 (ex. bulkAgePlus [20] -> ids [3, 7], age +1).
+ * 배치 삭제(deleteAllByIdInBatch 등)는 엔티티 리스너와 같은 id 별 DELETED 기록.
+ * 변경된 행을 알 수 없는 연산(deleteAllInBatch() 포함)은 RESYNC -> 소비자가 해당 aggregate 를 다시 읽어야 함
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxBulkUpdateListener {
+
+  // 기록 한 건에 담는 최대 id 수
+  static final int IDS_PER_EVENT = 1_000;
+
+  private final OutboxWriter outboxWriter;
+  private final JdbcTemplate jdbcTemplate;
+
+  @EventListener
+  public void onBulkUpdate(RepositoryBulkUpdateEvent event) {
+    String aggregateType = event.domainType().getSimpleName();
+    if (event.isBatchDelete()) {
+      onBatchDelete(aggregateType, event);
+      return;
+    }
+    List<Long> ids = affectedIds(event);
+    // 실행 후에 다시 읽은 id 라서 다른 트랜잭션의 변경이 섞였으면 행 수가 다름 -> RESYNC
+    if (ids == null || ids.size() != event.affectedRows()) {
+      outboxWriter.append(aggregateType, null, "RESYNC", payload(event));
+      return;
+    }
+    for (int from = 0; from < ids.size(); from += IDS_PER_EVENT) {
+      Map<String, Object> payload = payload(event);
+      payload.put("change", Map.of("age", "+1"));
+      payload.put("ids", ids.subList(from, Math.min(from + IDS_PER_EVENT, ids.size())));
+      outboxWriter.append(aggregateType, null, "BULK_UPDATE", payload);
+    }
+  }
+
+  private void onBatchDelete(String aggregateType, RepositoryBulkUpdateEvent event) {
+    if (event.deletedIds() == null) {
+      outboxWriter.append(aggregateType, null, "RESYNC", payload(event));
+      return;
+    }
+    List<Entry> entries = event.deletedIds().stream()
+        .map(id -> new Entry(((Number) id).longValue(), Map.of("method", event.method())))
+        .toList();
+    outboxWriter.appendAll(aggregateType, "DELETED", entries);
+  }
+
+  // bulkAgePlus(age): age 이상인 회원 나이 +1 -> 실행 후에는 age + 1 이상인 회원이 변경된 회원
+  private List<Long> affectedIds(RepositoryBulkUpdateEvent event) {
+    if (event.domainType() == Member.class
+        && ("bulkAgePlus".equals(event.method()) || "bulkAgePlusInContext".equals(event.method()))
+        && event.args().size() == 1 && event.args().get(0) instanceof Integer age) {
+      return jdbcTemplate.queryForList("select member_id from member where age >= ? order by member_id",
+          Long.class, age + 1);
+    }
+    return null;
+  }
+
+  private Map<String, Object> payload(RepositoryBulkUpdateEvent event) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("method", event.method());
+    payload.put("args", event.args());
+    payload.put("rows", event.affectedRows());
+    return payload;
+  }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+  // 다른 OutboxSink 빈(메시지 브로커 등)을 등록하면 교체됨
+  @Bean
+  @ConditionalOnMissingBean
+  public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+    if (properties.getSink() == OutboxProperties.Sink.FILE) {
+      return new FileOutboxSink(Path.of(properties.getFile()), objectMapper);
+    }
+    return new InMemoryOutboxSink();
+  }
+}
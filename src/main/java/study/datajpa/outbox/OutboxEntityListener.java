@@ -0,0 +1,51 @@
+package study.datajpa.outbox;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+// Member, Team 에 등록. outbox.enabled=false 면 OutboxWriter 빈이 없으므로 아무것도 안함
+@RequiredArgsConstructor
+public class OutboxEntityListener {
+
+  private final ObjectProvider<OutboxWriter> outboxWriter;
+
+  @PostPersist
+  public void postPersist(Object entity) {
+    append(entity, "CREATED");
+  }
+
+  @PostUpdate
+  public void postUpdate(Object entity) {
+    append(entity, "UPDATED");
+  }
+
+  @PostRemove
+  public void postRemove(Object entity) {
+    append(entity, "DELETED");
+  }
+
+  private void append(Object entity, String eventType) {
+    OutboxWriter writer = outboxWriter.getIfAvailable();
+    if (writer == null) {
+      return;
+    }
+    if (entity instanceof Member member) {
+      Map<String, Object> payload = new HashMap<>();
+      payload.put("username", member.getUsername());
+      payload.put("age", member.getAge());
+      payload.put("teamId", member.getTeam() != null ? member.getTeam().getId() : null);
+      writer.append("Member", member.getId(), eventType, payload);
+    } else if (entity instanceof Team team) {
+      Map<String, Object> payload = new HashMap<>();
+      payload.put("name", team.getName());
+      writer.append("Team", team.getId(), eventType, payload);
+    }
+  }
+}
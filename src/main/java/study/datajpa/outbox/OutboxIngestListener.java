@@ -0,0 +1,35 @@
+package study.datajpa.outbox;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import study.datajpa.ingest.MembersIngestedEvent;
+import study.datajpa.outbox.OutboxWriter.Entry;
+
+// 파이프라인의 JDBC insert 는 엔티티 리스너를 거치지 않으므로 insert 트랜잭션 안에서 CREATED 기록
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxIngestListener {
+
+  private final OutboxWriter outboxWriter;
+
+  @EventListener
+  public void onMembersIngested(MembersIngestedEvent event) {
+    // OutboxEntityListener 의 Member 기록과 같은 payload
+    List<Entry> entries = event.members().stream()
+        .map(member -> {
+          Map<String, Object> payload = new HashMap<>();
+          payload.put("username", member.username());
+          payload.put("age", member.age());
+          payload.put("teamId", member.teamId());
+          return new Entry(member.id(), payload);
+        })
+        .toList();
+    outboxWriter.appendAll("Member", "CREATED", entries);
+  }
+}
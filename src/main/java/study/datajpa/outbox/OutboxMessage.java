@@ -0,0 +1,8 @@
+package study.datajpa.outbox;
+
+import java.time.LocalDateTime;
+
+public record OutboxMessage(long id, String aggregateType, Long aggregateId, String eventType,
+                            String payload, LocalDateTime createdAt) {
+
+}
@@ -0,0 +1,20 @@
+package study.datajpa.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+  private boolean enabled = false;
+  private Sink sink = Sink.MEMORY;
+  private String file = "./data/outbox.jsonl";
+  private int batchSize = 500;
+
+  public enum Sink {
+    MEMORY, FILE
+  }
+}
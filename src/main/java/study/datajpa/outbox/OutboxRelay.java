@@ -0,0 +1,111 @@
+package study.datajpa.outbox;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * outbox_event 를 id 순으로 batchSize 만큼 읽어 sink 로 전달하고, 전달된 행은 삭제.
+ * sink 전달 성공 후 삭제 전에 장애가 나면 같은 메시지가 다시 전달될 수 있음 (at-least-once)
+ * 스케줄 실행과 수동 실행(relay())이 같은 행을 두 번 읽지 않도록 한 번에 하나만 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final OutboxSink sink;
+  private final OutboxProperties properties;
+
+  private final ReentrantLock relayLock = new ReentrantLock();
+  private final AtomicLong relayed = new AtomicLong();
+  private volatile long lagMillis;
+
+  // Spring 6.1 은 밀리초 숫자나 ISO-8601(PT1S) 만 허용, "1s" 형식 x
+  @Scheduled(fixedDelayString = "${outbox.relay-interval:PT1S}")
+  public void scheduledRelay() {
+    // 수동 실행 중이면 이번 주기는 건너뜀
+    if (!relayLock.tryLock()) {
+      return;
+    }
+    try {
+      relayAll();
+    } catch (RuntimeException e) {
+      log.warn("outbox relay failed", e);
+    } finally {
+      relayLock.unlock();
+    }
+  }
+
+  // 남은 행이 없을 때까지 배치 반복, 전달한 건수 반환 (다른 릴레이가 실행 중이면 끝날 때까지 대기)
+  public int relay() {
+    relayLock.lock();
+    try {
+      return relayAll();
+    } finally {
+      relayLock.unlock();
+    }
+  }
+
+  private int relayAll() {
+    int total = 0;
+    int relayedInBatch;
+    do {
+      relayedInBatch = relayBatch();
+      total += relayedInBatch;
+    } while (relayedInBatch == properties.getBatchSize());
+    return total;
+  }
+
+  public long getRelayedCount() {
+    return relayed.get();
+  }
+
+  // 마지막으로 전달한 배치에서 가장 오래된 기록이 쌓인 뒤 전달되기까지 걸린 시간
+  public long getLagMillis() {
+    return lagMillis;
+  }
+
+  private int relayBatch() {
+    List<OutboxMessage> messages = jdbcTemplate.query(
+        "select outbox_event_id, aggregate_type, aggregate_id, event_type, payload, created_at"
+            + " from outbox_event order by outbox_event_id limit ?",
+        (rs, rowNum) -> {
+          Timestamp createdAt = rs.getTimestamp("created_at");
+          return new OutboxMessage(rs.getLong("outbox_event_id"), rs.getString("aggregate_type"),
+              rs.getObject("aggregate_id", Long.class), rs.getString("event_type"),
+              rs.getString("payload"), createdAt != null ? createdAt.toLocalDateTime() : null);
+        },
+        properties.getBatchSize());
+    if (messages.isEmpty()) {
+      lagMillis = 0;
+      return 0;
+    }
+
+    sink.publish(messages);
+
+    List<Object[]> ids = messages.stream().map(message -> new Object[]{message.id()}).toList();
+    transactionTemplate.executeWithoutResult(status ->
+        jdbcTemplate.batchUpdate("delete from outbox_event where outbox_event_id = ?", ids));
+
+    relayed.addAndGet(messages.size());
+    LocalDateTime oldest = messages.get(0).createdAt();
+    if (oldest != null) {
+      lagMillis = Duration.between(oldest, LocalDateTime.now()).toMillis();
+    }
+    return messages.size();
+  }
+}
@@ -0,0 +1,9 @@
+package study.datajpa.outbox;
+
+import java.util.List;
+
+// 릴레이가 배치 단위로 전달, 예외를 던지면 해당 배치는 삭제되지 않고 다음 주기에 재전송
+public interface OutboxSink {
+
+  void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,58 @@
+package study.datajpa.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.datajpa.audit.FlushScopedDateTimeProvider;
+
+/**
+ * 변경 기록을 outbox_event 에 insert.
+ * JpaTransactionManager 가 JDBC 커넥션을 공유하므로 엔티티 변경과 같은 트랜잭션에서 커밋/롤백됨
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxWriter {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final FlushScopedDateTimeProvider dateTimeProvider;
+
+  public void append(String aggregateType, Long aggregateId, String eventType, Map<String, ?> payload) {
+    jdbcTemplate.update("insert into outbox_event (aggregate_type, aggregate_id, event_type, payload,"
+            + " created_at) values (?, ?, ?, ?, ?)",
+        aggregateType, aggregateId, eventType, toJson(payload),
+        Timestamp.valueOf(dateTimeProvider.now()));
+  }
+
+  // 같은 종류의 기록 여러 건을 JDBC batch 로 insert (파이프라인 배치 등)
+  public void appendAll(String aggregateType, String eventType, List<Entry> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    Timestamp createdAt = Timestamp.valueOf(dateTimeProvider.now());
+    List<Object[]> args = entries.stream()
+        .map(entry -> new Object[]{aggregateType, entry.aggregateId(), eventType, toJson(entry.payload()),
+            createdAt})
+        .toList();
+    jdbcTemplate.batchUpdate("insert into outbox_event (aggregate_type, aggregate_id, event_type, payload,"
+        + " created_at) values (?, ?, ?, ?, ?)", args);
+  }
+
+  private String toJson(Map<String, ?> payload) {
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public record Entry(Long aggregateId, Map<String, ?> payload) {
+  }
+}
@@ -0,0 +1,110 @@
+package study.datajpa.perf;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.EpochMillisConverter;
+import study.datajpa.entity.UuidBytesConverter;
+import study.datajpa.stats.TeamStatsRebuilder;
+
+/**
+ * perf 프로파일 기동 시 팀 N개, 회원 M명을 적재한다.
+ * 이미 데이터가 있으면 건너뛰므로 재기동 시에도 같은 데이터로 벤치마크 가능.
+ * IDENTITY 전략은 하이버네이트 insert 배치가 안되기 때문에 JDBC batch 로 직접 넣음
+ */
+@Slf4j
+@Component
+@Profile("perf")
+@RequiredArgsConstructor
+public class PerfDataSeeder implements ApplicationRunner {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PerfSeedProperties properties;
+  private final TeamStatsRebuilder teamStatsRebuilder;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    Long memberCount = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+    if (memberCount != null && memberCount > 0) {
+      log.info("perf seed skipped, {} members already loaded", memberCount);
+      return;
+    }
+
+    long start = System.nanoTime();
+    List<Long> teamIds = seedTeams();
+    seedMembers(teamIds);
+    // JDBC insert 는 team_stats 증분 갱신을 거치지 않으므로 한 번에 집계
+    teamStatsRebuilder.rebuild();
+    log.info("perf seed loaded {} teams, {} members in {} ms",
+        teamIds.size(), properties.getMembers(), (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private List<Long> seedTeams() {
+    int teams = properties.getTeams();
+    transactionTemplate.executeWithoutResult(status ->
+        jdbcTemplate.batchUpdate("insert into team (name) values (?)",
+            new BatchPreparedStatementSetter() {
+              @Override
+              public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, "team" + i);
+              }
+
+              @Override
+              public int getBatchSize() {
+                return teams;
+              }
+            }));
+    return jdbcTemplate.queryForList("select team_id from team order by team_id", Long.class);
+  }
+
+  private void seedMembers(List<Long> teamIds) {
+    int total = properties.getMembers();
+    int batchSize = properties.getBatchSize();
+    String sql = "insert into member (username, age, team_id, created_date, last_modified_date,"
+        + " created_by, last_modified_by) values (?, ?, ?, ?, ?, ?, ?)";
+
+    // 청크 단위 커밋 -> 트랜잭션 로그, undo 가 한없이 커지지 않도록
+    for (int offset = 0; offset < total; offset += batchSize) {
+      int from = offset;
+      int size = Math.min(batchSize, total - offset);
+      long now = EpochMillisConverter.toEpochMillis(LocalDateTime.now());
+      byte[] auditor = UuidBytesConverter.toBytes(UUID.randomUUID().toString());
+
+      transactionTemplate.executeWithoutResult(status ->
+          jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+              int n = from + i;
+              ps.setString(1, "member" + n);
+              ps.setInt(2, n % 100);
+              if (teamIds.isEmpty()) {
+                ps.setObject(3, null);
+              } else {
+                ps.setLong(3, teamIds.get(n % teamIds.size()));
+              }
+              ps.setLong(4, now);
+              ps.setLong(5, now);
+              ps.setBytes(6, auditor);
+              ps.setBytes(7, auditor);
+            }
+
+            @Override
+            public int getBatchSize() {
+              return size;
+            }
+          }));
+    }
+  }
+}
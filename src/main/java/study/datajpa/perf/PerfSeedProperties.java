@@ -0,0 +1,15 @@
+package study.datajpa.perf;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "perf.seed")
+public class PerfSeedProperties {
+
+  private int teams = 100;
+  private int members = 100_000;
+  private int batchSize = 1_000;
+}
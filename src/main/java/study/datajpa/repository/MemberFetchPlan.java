@@ -0,0 +1,16 @@
+package study.datajpa.repository;
+
+/**
+ * Member 조회 시 team 로딩 방식
+ */
+public enum MemberFetchPlan {
+
+  // team 은 프록시, 접근하면 hibernate.default_batch_fetch_size 만큼 in 절로 묶어서 지연 로딩
+  NONE,
+  // 동적 엔티티 그래프(fetchgraph 힌트) -> join 으로 함께 조회
+  TEAM_GRAPH,
+  // join 없이 조회 후 team 을 in 쿼리 한 번으로 미리 로딩 (join 으로 행이 넓어지는 게 싫은 페이지 조회 등)
+  BATCH,
+  // 호출 위치별로 team 접근 여부를 관찰해서 NONE / TEAM_GRAPH 선택 (MemberFetchPlanAdvisor)
+  AUTO
+}
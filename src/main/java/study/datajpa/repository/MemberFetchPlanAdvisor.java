@@ -0,0 +1,145 @@
+package study.datajpa.repository;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.diagnostics.EndpointContext;
+import study.datajpa.diagnostics.RepositoryCallAspect;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.guard.QueryGuardAspect;
+
+/**
+ * MemberFetchPlan.AUTO 의 호출 위치별 플랜 선택.
+ * NONE 으로 실행한 호출은 트랜잭션이 끝나기 직전에 결과의 team 프록시가 초기화(접근)됐는지 기록
+ * -> team 을 쓰는 호출 비율이 joinThreshold 이상이면 TEAM_GRAPH, 아니면 NONE.
+ * 배치 로딩 때문에 프록시 하나만 접근해도 여러 개가 같이 초기화되므로 "몇 개"가 아니라 "접근했는지"만 봄.
+ * 관찰은 호출자가 트랜잭션을 열고 부른 경우만 가능 -> 호출자 트랜잭션이 없으면 결과 반환 후 지연 로딩 자체가 안 되므로
+ * (OSIV off) 관찰 없이 항상 TEAM_GRAPH
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberFetchPlanAdvisor {
+
+  private final MemberFetchPlanProperties properties;
+  private final Map<String, CallSite> callSites = new ConcurrentHashMap<>();
+
+  // callerTransaction: findMembers 의 트랜잭션이 열리기 전에 이미 트랜잭션이 있었는지
+  Decision decide(String callSite, boolean callerTransaction) {
+    CallSite site = callSites.computeIfAbsent(callSite, key -> new CallSite(properties.getJoinThreshold()));
+    long call = site.calls.incrementAndGet();
+    boolean sample = call <= properties.getWarmUpCalls()
+        || (properties.getSampleEvery() > 0 && call % properties.getSampleEvery() == 0);
+    if (!callerTransaction) {
+      return new Decision(site, MemberFetchPlan.TEAM_GRAPH, false);
+    }
+    MemberFetchPlan plan = sample ? MemberFetchPlan.NONE : site.getRecommendedPlan();
+    return new Decision(site, plan, plan == MemberFetchPlan.NONE);
+  }
+
+  public Map<String, CallSite> snapshot() {
+    return new TreeMap<>(callSites);
+  }
+
+  // 엔드포인트가 있으면 엔드포인트, 없으면 리포지토리를 호출한 클래스.메서드
+  static String currentCallSite() {
+    String endpoint = EndpointContext.current();
+    if (endpoint != null) {
+      return endpoint;
+    }
+    return StackWalker.getInstance().walk(frames -> frames
+        .filter(frame -> !isInfrastructure(frame.getClassName()))
+        .findFirst()
+        .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+            + "." + frame.getMethodName())
+        .orElse("(unknown)"));
+  }
+
+  private static boolean isInfrastructure(String className) {
+    return className.equals(MemberFetchPlanAdvisor.class.getName())
+        || className.equals(MemberRepositoryImpl.class.getName())
+        || className.equals(RepositoryCallAspect.class.getName())
+        || className.equals(QueryGuardAspect.class.getName())
+        || className.startsWith("org.springframework.")
+        || className.startsWith("org.aspectj.")
+        || className.startsWith("java.")
+        || className.startsWith("jdk.")
+        || className.startsWith("sun.")
+        || className.contains("$$");
+  }
+
+  record Decision(CallSite site, MemberFetchPlan plan, boolean sampling) {
+
+    void observe(List<Member> members) {
+      if (!sampling) {
+        return;
+      }
+      Set<Team> teams = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (Member member : members) {
+        // 이미 영속성 컨텍스트에 로딩돼 있던 team 은 제외
+        if (member.getTeam() != null && !Hibernate.isInitialized(member.getTeam())) {
+          teams.add(member.getTeam());
+        }
+      }
+      if (teams.isEmpty()) {
+        return;
+      }
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void beforeCompletion() {
+          site.record(teams.stream().anyMatch(Hibernate::isInitialized));
+        }
+      });
+    }
+  }
+
+  public static class CallSite {
+
+    private final double joinThreshold;
+    private final AtomicLong calls = new AtomicLong();
+    private final LongAdder observed = new LongAdder();
+    private final LongAdder touched = new LongAdder();
+
+    CallSite(double joinThreshold) {
+      this.joinThreshold = joinThreshold;
+    }
+
+    void record(boolean teamTouched) {
+      observed.increment();
+      if (teamTouched) {
+        touched.increment();
+      }
+    }
+
+    public long getCalls() {
+      return calls.get();
+    }
+
+    public long getObservedCalls() {
+      return observed.sum();
+    }
+
+    // team 에 접근한 관찰 호출 비율
+    public double getTeamTouchRatio() {
+      long total = observed.sum();
+      return total == 0 ? 0 : (double) touched.sum() / total;
+    }
+
+    // 관찰 전에는 NONE, 접근하더라도 배치 로딩이라 N+1 은 아님
+    public MemberFetchPlan getRecommendedPlan() {
+      return observed.sum() > 0 && getTeamTouchRatio() >= joinThreshold
+          ? MemberFetchPlan.TEAM_GRAPH : MemberFetchPlan.NONE;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "member.fetch-plan")
+public class MemberFetchPlanProperties {
+
+  // 호출 위치별로 처음 몇 번은 NONE 으로 실행해서 team 접근 여부 관찰
+  private int warmUpCalls = 3;
+  // 이후에도 N 번에 한 번은 다시 관찰 (사용 패턴 변화 반영), 0 이면 재관찰 x
+  private int sampleEvery = 50;
+  // team 에 접근한 호출 비율이 이 이상이면 TEAM_GRAPH
+  private double joinThreshold = 0.5;
+}
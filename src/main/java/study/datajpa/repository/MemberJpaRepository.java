@@ -2,6 +2,7 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
@@ -64,6 +65,47 @@ public class MemberJpaRepository {
         .getResultList();
   }
 
+  /**
+   * findByPage 의 스냅샷 페이징 버전 (트랜잭션을 유지하지 않는 긴 export 용).
+   * offset 대신 (username desc, id desc) 키셋 + 첫 페이지 시점의 최대 id 로 범위 고정
+   * -> 페이지 사이의 insert/delete 로 행이 밀리거나 당겨져서 중복, 누락되지 않음.
+   * 페이지 사이에 age 가 바뀐 회원(bulkAgePlus)은 조회 시점의 age 기준으로 포함/제외됨.
+   * 키셋 비교를 위해 username 이 null 인 회원은 제외
+   */
+  public MemberSnapshotPage findByPageSnapshot(int age, String token, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be at least 1: " + limit);
+    }
+    MemberPageToken previous = token != null ? MemberPageToken.decode(token) : null;
+    if (previous != null && previous.age() != age) {
+      throw new IllegalArgumentException("page token was issued for a different age");
+    }
+    long maxId = previous != null ? previous.maxId()
+        : em.createQuery("select coalesce(max(m.id), 0) from Member m", Long.class).getSingleResult();
+
+    String jpql = "select m from Member m where m.age = :age and m.id <= :maxId and m.username is not null"
+        + (previous != null
+        ? " and (m.username < :lastUsername or (m.username = :lastUsername and m.id < :lastId))" : "")
+        + " order by m.username desc, m.id desc";
+    TypedQuery<Member> query = em.createQuery(jpql, Member.class)
+        .setParameter("age", age)
+        .setParameter("maxId", maxId)
+        .setMaxResults(limit + 1);
+    if (previous != null) {
+      query.setParameter("lastUsername", previous.lastUsername())
+          .setParameter("lastId", previous.lastId());
+    }
+
+    List<Member> result = query.getResultList();
+    if (result.size() <= limit) {
+      return new MemberSnapshotPage(result, null);
+    }
+    List<Member> content = result.subList(0, limit);
+    Member last = content.get(limit - 1);
+    return new MemberSnapshotPage(content,
+        new MemberPageToken(age, maxId, last.getUsername(), last.getId()).encode());
+  }
+
   public long totalCount(int age) {
     return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
         .setParameter("age", age)
@@ -0,0 +1,45 @@
+package study.datajpa.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+/**
+ * 스냅샷 페이징 토큰.
+ * maxId: 첫 페이지 시점의 최대 id (이후 insert 된 회원은 제외)
+ * lastUsername, lastId: 이전 페이지 마지막 행의 정렬 키 (username desc, id desc) -> 다음 페이지는 그 뒤부터
+ */
+public record MemberPageToken(int age, long maxId, String lastUsername, long lastId) {
+
+  private static final byte VERSION = 1;
+
+  public String encode() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      out.writeInt(age);
+      out.writeLong(maxId);
+      out.writeUTF(lastUsername);
+      out.writeLong(lastId);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+  }
+
+  public static MemberPageToken decode(String token) {
+    try (DataInputStream in = new DataInputStream(
+        new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+      if (in.readByte() != VERSION) {
+        throw new IllegalArgumentException("unsupported page token version");
+      }
+      return new MemberPageToken(in.readInt(), in.readLong(), in.readUTF(), in.readLong());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("invalid page token", e);
+    }
+  }
+}
@@ -4,22 +4,27 @@ import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Repository;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom{
+public interface MemberRepository extends JpaRepository<Member, Long>, JpaSpecificationExecutor<Member>,
+    MemberRepositoryCustom{
 
   List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
@@ -35,11 +40,33 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
   @Query("select m.username from Member m" )
   List<String> findUsernameList();
 
+  // 엔티티, 영속성 컨텍스트 없이 username, 수정시각만 조회
+  @Query("select m.id as id, m.username as username, m.lastModifiedDate as lastModifiedDate"
+      + " from Member m where m.id = :id")
+  Optional<MemberUsername> findUsernameById(@Param("id") Long id);
+
+  @Query("select m.id as id, m.username as username, m.lastModifiedDate as lastModifiedDate from Member m")
+  List<MemberUsername> findIdUsernames(Pageable pageable);
+
   // new operation!!
   // DTO 로 바로 조회, 생성자 필요
   @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
   List<MemberDto> findMemberDto();
 
+  // 비동기 조회 -> repositoryAsyncExecutor 스레드에서 각자 트랜잭션, EntityManager 로 실행
+  // 서로 독립적인 쿼리를 병렬로 보내고 join 하는 용도
+  @Async("repositoryAsyncExecutor")
+  @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
+  CompletableFuture<List<MemberDto>> findMemberDtoAsync();
+
+  @Async("repositoryAsyncExecutor")
+  @Query("select m.username from Member m")
+  CompletableFuture<List<String>> findUsernameListAsync();
+
+  @Async("repositoryAsyncExecutor")
+  @Query("select count(m) from Member m")
+  CompletableFuture<Long> countAsync();
+
   // in 절 사용
   @Query("select m from Member m where m.username in :names")
   List<Member> findByNames(@Param("names") Collection<String> names);
@@ -1,9 +1,28 @@
 package study.datajpa.repository;
 
 import java.util.List;
+import java.util.function.BiConsumer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import study.datajpa.entity.Member;
 
 public interface MemberRepositoryCustom {
 
   List<Member> findMemberCustom();
+
+  // 벌크 연산 후 영속성 컨텍스트를 비우지 않고, 이미 로딩된 Member 에도 같은 변경을 적용
+  int bulkAgePlusInContext(int age);
+
+  // id 순으로 afterId 다음부터 limit 개의 (id, username) 을 엔티티 생성 없이 하나씩 전달
+  void forEachIdUsername(Long afterId, int limit, BiConsumer<Long, String> action);
+
+  // findAll(spec, pageable) 의 Slice 버전, count 쿼리 없이 size + 1 개 조회
+  Slice<Member> searchSlice(Specification<Member> spec, Pageable pageable);
+
+  // username 이 prefix 로 시작하는 서로 다른 username, 사전순 limit 개 (자동완성)
+  List<String> searchUsernames(String prefix, int limit);
+
+  // spec 조건의 회원을 plan 방식으로 team 과 함께 조회 (spec 이 null 이면 전체)
+  List<Member> findMembers(Specification<Member> spec, MemberFetchPlan plan);
 }
@@ -1,18 +1,187 @@
 package study.datajpa.repository;
 
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.search.UsernamePrefixIndex;
+import study.datajpa.tenancy.TenantContext;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
   private final EntityManager em;
+  private final ApplicationEventPublisher publisher;
+  private final UsernamePrefixIndex usernamePrefixIndex;
+  private final MemberFetchPlanAdvisor fetchPlanAdvisor;
+  private final PlatformTransactionManager transactionManager;
 
   @Override
   public List<Member> findMemberCustom() {
     return em.createQuery("select m from Member m", Member.class)
         .getResultList();
   }
+
+  // clearAutomatically = true 는 영속성 컨텍스트 전체를 버려서 다른 엔티티까지 다시 조회해야 함
+  // -> 업데이트 조건에 해당하는 관리 중인 Member 만 메모리에서도 같은 값으로 맞춰줌
+  @Override
+  @Transactional
+  public int bulkAgePlusInContext(int age) {
+    // 관리 중인 엔티티의 값 == DB 값이 되도록 먼저 flush
+    // (auto flush 는 FlushMode 가 AUTO 이고 쿼리 대상 테이블이 겹칠 때만 일어나므로 명시적으로)
+    em.flush();
+    int count = em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+        .setParameter("age", age)
+        .executeUpdate();
+
+    SessionImplementor session = em.unwrap(SessionImplementor.class);
+    for (Map.Entry<Object, EntityEntry> entry
+        : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+      EntityEntry entityEntry = entry.getValue();
+      if (!(entry.getKey() instanceof Member member)
+          || (entityEntry.getStatus() != Status.MANAGED && entityEntry.getStatus() != Status.READ_ONLY)
+          || member.getAge() < age) {
+        continue;
+      }
+      int newAge = member.getAge() + 1;
+      member.setAge(newAge);
+
+      // 스냅샷도 같이 바꿔야 변경감지로 update 가 한번 더 나가지 않음 (readOnly 엔티티는 스냅샷 없음)
+      Object[] loadedState = entityEntry.getLoadedState();
+      if (loadedState != null) {
+        loadedState[entityEntry.getPersister().getEntityMetamodel().getPropertyIndex("age")] = newAge;
+      }
+    }
+
+    publisher.publishEvent(
+        new RepositoryBulkUpdateEvent(Member.class, "bulkAgePlusInContext", List.of(age), count));
+    return count;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachIdUsername(Long afterId, int limit, BiConsumer<Long, String> action) {
+    try (Stream<Object[]> rows = em.createQuery(
+            "select m.id, m.username from Member m where m.id > :afterId order by m.id", Object[].class)
+        .setParameter("afterId", afterId == null ? 0L : afterId)
+        .setMaxResults(limit)
+        .getResultStream()) {
+      rows.forEach(row -> action.accept((Long) row[0], (String) row[1]));
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<Member> searchSlice(Specification<Member> spec, Pageable pageable) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<Member> query = cb.createQuery(Member.class);
+    Root<Member> root = query.from(Member.class);
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+    List<Member> content = em.createQuery(query)
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(pageable.getPageSize() + 1)
+        .getResultList();
+    boolean hasNext = content.size() > pageable.getPageSize();
+    return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+  }
+
+  // 메모리 인덱스 우선, 인덱스 준비 전이거나 테넌트 범위 조회(인덱스는 전체 기준)면 DB 인덱스 범위 검색
+  @Override
+  @Transactional(readOnly = true)
+  public List<String> searchUsernames(String prefix, int limit) {
+    if (usernamePrefixIndex.isReady() && TenantContext.current() == null) {
+      return usernamePrefixIndex.search(prefix, limit);
+    }
+    return em.createQuery("select distinct m.username from Member m"
+            + " where m.username like :prefix escape '\\' order by m.username", String.class)
+        .setParameter("prefix", MemberSpecs.likePrefix(prefix))
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  // AUTO 는 호출자 트랜잭션 유무를 보고 결정해야 하므로 @Transactional 대신 결정 후 트랜잭션 시작 (있으면 참여)
+  @Override
+  public List<Member> findMembers(Specification<Member> spec, MemberFetchPlan plan) {
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    if (plan != MemberFetchPlan.AUTO) {
+      return readOnly.execute(status -> findMembers(spec, plan, null));
+    }
+    MemberFetchPlanAdvisor.Decision decision = fetchPlanAdvisor.decide(
+        MemberFetchPlanAdvisor.currentCallSite(), TransactionSynchronizationManager.isActualTransactionActive());
+    return readOnly.execute(status -> findMembers(spec, decision.plan(), decision));
+  }
+
+  private List<Member> findMembers(Specification<Member> spec, MemberFetchPlan plan,
+      MemberFetchPlanAdvisor.Decision decision) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<Member> query = cb.createQuery(Member.class);
+    Root<Member> root = query.from(Member.class);
+    Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    TypedQuery<Member> typedQuery = em.createQuery(query.select(root));
+    if (plan == MemberFetchPlan.TEAM_GRAPH) {
+      // fetchgraph: 그래프에 있는 연관관계만 join 으로 함께 조회
+      EntityGraph<Member> graph = em.createEntityGraph(Member.class);
+      graph.addAttributeNodes("team");
+      typedQuery.setHint("jakarta.persistence.fetchgraph", graph);
+    }
+    List<Member> members = typedQuery.getResultList();
+
+    if (plan == MemberFetchPlan.BATCH) {
+      preloadTeams(members);
+    }
+    if (decision != null) {
+      decision.observe(members);
+    }
+    return members;
+  }
+
+  // 초기화 안 된 team 프록시의 id 로 in 쿼리 한 번 -> 같은 영속성 컨텍스트의 프록시가 모두 초기화됨
+  private void preloadTeams(List<Member> members) {
+    List<Long> teamIds = members.stream()
+        .map(Member::getTeam)
+        .filter(Objects::nonNull)
+        .filter(team -> !Hibernate.isInitialized(team))
+        .map(Team::getId) // 프록시의 id 조회는 초기화 x
+        .distinct()
+        .toList();
+    if (!teamIds.isEmpty()) {
+      em.createQuery("select t from Team t where t.id in :ids", Team.class)
+          .setParameter("ids", teamIds)
+          .getResultList();
+    }
+  }
 }
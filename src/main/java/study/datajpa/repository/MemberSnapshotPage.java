@@ -0,0 +1,8 @@
+package study.datajpa.repository;
+
+import java.util.List;
+import study.datajpa.entity.Member;
+
+// nextToken 이 null 이면 마지막 페이지
+public record MemberSnapshotPage(List<Member> content, String nextToken) {
+}
@@ -0,0 +1,63 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+import study.datajpa.dto.MemberSearchCondition;
+import study.datajpa.entity.Member;
+
+/**
+ * MemberSearchCondition -> Specification.
+ * 같은 조건 조합이면 같은 Criteria 모양 (값은 바인딩 파라미터) -> 쿼리 플랜 캐시 재사용
+ */
+public final class MemberSpecs {
+
+  private MemberSpecs() {
+  }
+
+  public static Specification<Member> search(MemberSearchCondition condition) {
+    Specification<Member> spec = Specification.where(null);
+    if (StringUtils.hasText(condition.getUsername())) {
+      spec = spec.and(username(condition.getUsername()));
+    }
+    if (StringUtils.hasText(condition.getUsernamePrefix())) {
+      spec = spec.and(usernameStartsWith(condition.getUsernamePrefix()));
+    }
+    if (condition.getAgeGoe() != null) {
+      spec = spec.and(ageGoe(condition.getAgeGoe()));
+    }
+    if (condition.getAgeLoe() != null) {
+      spec = spec.and(ageLoe(condition.getAgeLoe()));
+    }
+    if (StringUtils.hasText(condition.getTeamName())) {
+      spec = spec.and(teamName(condition.getTeamName()));
+    }
+    return spec;
+  }
+
+  public static Specification<Member> username(String username) {
+    return (root, query, cb) -> cb.equal(root.get("username"), username);
+  }
+
+  // '%x%' 대신 'x%' 만 허용, 입력의 와일드카드 문자는 escape
+  public static Specification<Member> usernameStartsWith(String prefix) {
+    return (root, query, cb) -> cb.like(root.get("username"), likePrefix(prefix), '\\');
+  }
+
+  // escape 문자는 '\'
+  static String likePrefix(String prefix) {
+    return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+  }
+
+  public static Specification<Member> ageGoe(int age) {
+    return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("age"), age);
+  }
+
+  public static Specification<Member> ageLoe(int age) {
+    return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("age"), age);
+  }
+
+  public static Specification<Member> teamName(String teamName) {
+    return (root, query, cb) -> cb.equal(root.join("team", JoinType.INNER).get("name"), teamName);
+  }
+}
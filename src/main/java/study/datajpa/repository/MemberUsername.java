@@ -0,0 +1,10 @@
+package study.datajpa.repository;
+
+import java.time.LocalDateTime;
+
+public interface MemberUsername {
+
+  Long getId();
+  String getUsername();
+  LocalDateTime getLastModifiedDate();
+}
@@ -0,0 +1,25 @@
+package study.datajpa.repository;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 벌크 연산(@Modifying 쿼리, deleteAllInBatch 등)은 엔티티 이벤트가 발생하지 않으므로 따로 발행.
+ * 리포지토리 트랜잭션 안에서 동기적으로 발행됨.
+ * 배치 삭제는 void 반환이라 affectedRows = -1, 삭제한 id 는 deletedIds (null 이면 전체 삭제)
+ */
+public record RepositoryBulkUpdateEvent(Class<?> domainType, String method, List<Object> args,
+                                        int affectedRows, List<Object> deletedIds) {
+
+  // SimpleJpaRepository 의 엔티티 리스너를 거치지 않는 삭제
+  static final Set<String> BATCH_DELETE_METHODS =
+      Set.of("deleteAllInBatch", "deleteAllByIdInBatch", "deleteInBatch");
+
+  public RepositoryBulkUpdateEvent(Class<?> domainType, String method, List<Object> args, int affectedRows) {
+    this(domainType, method, args, affectedRows, null);
+  }
+
+  public boolean isBatchDelete() {
+    return BATCH_DELETE_METHODS.contains(method);
+  }
+}
@@ -0,0 +1,73 @@
+package study.datajpa.repository;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리포지토리 프록시 내부(트랜잭션 인터셉터 안쪽)에 advice 를 추가해서
+ * @Modifying 메서드, 배치 삭제(deleteAllInBatch 등) 실행 후 같은 트랜잭션에서 RepositoryBulkUpdateEvent 발행
+ */
+@Component
+public class RepositoryBulkUpdateEventRegistrar implements BeanPostProcessor,
+    ApplicationEventPublisherAware {
+
+  private ApplicationEventPublisher publisher;
+
+  @Override
+  public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+    this.publisher = applicationEventPublisher;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+      factoryBean.addRepositoryFactoryCustomizer(factory ->
+          factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+            Class<?> domainType = repositoryInformation.getDomainType();
+            EntityInformation<?, ?> entityInformation = factory.getEntityInformation(domainType);
+            proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+              Object result = invocation.proceed();
+              Method method = invocation.getMethod();
+              if (method.isAnnotationPresent(Modifying.class)) {
+                publisher.publishEvent(new RepositoryBulkUpdateEvent(domainType, method.getName(),
+                    Arrays.asList(invocation.getArguments()),
+                    result instanceof Number number ? number.intValue() : -1));
+              } else if (RepositoryBulkUpdateEvent.BATCH_DELETE_METHODS.contains(method.getName())) {
+                publishBatchDelete(domainType, entityInformation, method, invocation.getArguments());
+              }
+              return result;
+            });
+          }));
+    }
+    return bean;
+  }
+
+  // 인자(엔티티/id 목록)는 id 로 바꿔서 전달 -> 리스너가 엔티티를 직렬화하거나 다시 읽지 않음
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void publishBatchDelete(Class<?> domainType, EntityInformation entityInformation, Method method,
+      Object[] arguments) {
+    List<Object> ids = null;
+    if (arguments.length == 1 && arguments[0] instanceof Iterable<?> targets) {
+      ids = new ArrayList<>();
+      boolean byId = "deleteAllByIdInBatch".equals(method.getName());
+      for (Object target : targets) {
+        ids.add(byId ? target : entityInformation.getId(target));
+      }
+      if (ids.isEmpty()) {
+        return; // 아무것도 삭제하지 않음
+      }
+    }
+    publisher.publishEvent(new RepositoryBulkUpdateEvent(domainType, method.getName(), List.of(), -1, ids));
+  }
+}
@@ -1,10 +1,17 @@
 package study.datajpa.repository;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import study.datajpa.dto.TeamStatsDto;
 import study.datajpa.entity.Team;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
+  // member 전체 group by 대신 미리 집계된 team_stats 조회
+  @Query("select new study.datajpa.dto.TeamStatsDto(t.id, t.name, s.memberCount, s.ageSum)"
+      + " from TeamStats s join Team t on t.id = s.teamId order by t.id")
+  List<TeamStatsDto> findTeamStats();
 }
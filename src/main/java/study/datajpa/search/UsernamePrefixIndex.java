@@ -0,0 +1,120 @@
+package study.datajpa.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.springframework.stereotype.Component;
+
+/**
+ * username 접두사 검색용 정렬 인덱스 (메모리).
+ * 키는 "username \0 id" -> 같은 username 이 여러 명이어도 회원별로 추가/삭제가 멱등.
+ * 검색은 접두사 위치로 바로 이동해서 limit 개의 서로 다른 username 만 읽음 (O(limit * log n))
+ */
+@Component
+public class UsernamePrefixIndex {
+
+  private static final char SEPARATOR = '\u0000';
+
+  private final Object writeLock = new Object();
+  private volatile ConcurrentSkipListSet<String> keys = new ConcurrentSkipListSet<>();
+  private volatile boolean ready;
+
+  // 재구성 중 들어온 변경 (순서대로 새 인덱스에 다시 적용)
+  private List<Change> changesDuringRebuild;
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  public int size() {
+    return keys.size();
+  }
+
+  public void add(long id, String username) {
+    apply(new Change(key(username, id), true));
+  }
+
+  public void remove(long id, String username) {
+    apply(new Change(key(username, id), false));
+  }
+
+  private void apply(Change change) {
+    if (change.key() == null) {
+      return;
+    }
+    synchronized (writeLock) {
+      change.applyTo(keys);
+      if (changesDuringRebuild != null) {
+        changesDuringRebuild.add(change);
+      }
+    }
+  }
+
+  public List<String> search(String prefix, int limit) {
+    List<String> result = new ArrayList<>(Math.min(limit, 64));
+    ConcurrentSkipListSet<String> current = keys;
+    String key = current.ceiling(prefix);
+    while (key != null && result.size() < limit && key.startsWith(prefix)) {
+      String username = key.substring(0, key.lastIndexOf(SEPARATOR));
+      result.add(username);
+      // 같은 username 의 나머지 id 는 건너뜀
+      key = current.ceiling(username + (char) (SEPARATOR + 1));
+    }
+    return result;
+  }
+
+  /**
+   * loader 로 새 인덱스를 채운 뒤 교체. 재구성 중에는 기존 인덱스로 검색하고,
+   * 그 사이의 변경은 기록해 두었다가 교체 직전에 새 인덱스에 다시 적용
+   */
+  public synchronized void rebuild(Loader loader) {
+    ConcurrentSkipListSet<String> rebuilt = new ConcurrentSkipListSet<>();
+    synchronized (writeLock) {
+      changesDuringRebuild = new ArrayList<>();
+    }
+    try {
+      loader.load((id, username) -> {
+        if (username != null) {
+          rebuilt.add(key(username, id));
+        }
+      });
+      synchronized (writeLock) {
+        changesDuringRebuild.forEach(change -> change.applyTo(rebuilt));
+        keys = rebuilt;
+        ready = true;
+      }
+    } finally {
+      synchronized (writeLock) {
+        changesDuringRebuild = null;
+      }
+    }
+  }
+
+  private static String key(String username, long id) {
+    return username != null ? username + SEPARATOR + id : null;
+  }
+
+  private record Change(String key, boolean add) {
+
+    void applyTo(Set<String> target) {
+      if (add) {
+        target.add(key);
+      } else {
+        target.remove(key);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  public interface Loader {
+
+    void load(Sink sink);
+  }
+
+  @FunctionalInterface
+  public interface Sink {
+
+    void accept(long id, String username);
+  }
+}
@@ -0,0 +1,90 @@
+package study.datajpa.search;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.Member;
+import study.datajpa.ingest.MembersIngestedEvent;
+
+// Member 변경을 커밋 후 인덱스에 반영 (username 변경은 oldState 로 이전 키 삭제)
+// 파이프라인의 JDBC insert 는 하이버네이트 이벤트가 없으므로 MembersIngestedEvent 로 반영
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "member.username-index.enabled", havingValue = "true", matchIfMissing = true)
+public class UsernamePrefixIndexListener implements PostInsertEventListener, PostUpdateEventListener,
+    PostDeleteEventListener {
+
+  private final UsernamePrefixIndex index;
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof Member) {
+      long id = (Long) event.getId();
+      String username = username(event.getPersister(), event.getState());
+      afterCommit(() -> index.add(id, username));
+    }
+  }
+
+  @TransactionalEventListener
+  public void onMembersIngested(MembersIngestedEvent event) {
+    event.members().forEach(member -> index.add(member.id(), member.username()));
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof Member) || event.getOldState() == null) {
+      return;
+    }
+    long id = (Long) event.getId();
+    String oldUsername = username(event.getPersister(), event.getOldState());
+    String newUsername = username(event.getPersister(), event.getState());
+    if (oldUsername != null && oldUsername.equals(newUsername)) {
+      return;
+    }
+    afterCommit(() -> {
+      index.remove(id, oldUsername);
+      index.add(id, newUsername);
+    });
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Member) {
+      long id = (Long) event.getId();
+      String username = username(event.getPersister(), event.getDeletedState());
+      afterCommit(() -> index.remove(id, username));
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  private String username(EntityPersister persister, Object[] state) {
+    return (String) state[persister.getEntityMetamodel().getPropertyIndex("username")];
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,50 @@
+package study.datajpa.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * 기동 시 member 테이블에서 인덱스 재구성 (id 순 keyset 청크, 엔티티 생성 x).
+ * 준비되기 전이나 비활성화 상태에서는 searchUsernames 가 DB like 'prefix%' 로 조회
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.username-index.enabled", havingValue = "true", matchIfMissing = true)
+public class UsernamePrefixIndexLoader {
+
+  private final MemberRepository memberRepository;
+  private final UsernamePrefixIndex index;
+  private final int chunkSize;
+
+  public UsernamePrefixIndexLoader(MemberRepository memberRepository, UsernamePrefixIndex index,
+      @Value("${member.username-index.rebuild-chunk-size:10000}") int chunkSize) {
+    this.memberRepository = memberRepository;
+    this.index = index;
+    this.chunkSize = chunkSize;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    long start = System.nanoTime();
+    index.rebuild(sink -> {
+      long[] lastId = {0};
+      int[] rows = new int[1];
+      do {
+        rows[0] = 0;
+        memberRepository.forEachIdUsername(lastId[0], chunkSize, (id, username) -> {
+          sink.accept(id, username);
+          lastId[0] = id;
+          rows[0]++;
+        });
+      } while (rows[0] == chunkSize);
+    });
+    log.info("username prefix index rebuilt with {} entries in {} ms",
+        index.size(), (System.nanoTime() - start) / 1_000_000);
+  }
+}
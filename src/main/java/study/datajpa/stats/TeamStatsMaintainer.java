@@ -0,0 +1,180 @@
+package study.datajpa.stats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.ingest.MembersIngestedEvent;
+import study.datajpa.ingest.MembersIngestedEvent.IngestedMember;
+import study.datajpa.repository.RepositoryBulkUpdateEvent;
+
+/**
+ * Member insert/delete/팀 변경/나이 변경 시 team_stats 를 증분 갱신.
+ * 같은 트랜잭션, 같은 커넥션에서 실행되므로 롤백되면 집계도 같이 롤백됨.
+ * 파이프라인의 JDBC insert 는 MembersIngestedEvent 로 팀별 증분을 한 번의 batch merge 로 반영.
+ * 건별 이벤트가 없는 배치 삭제(deleteAllInBatch 등), 알 수 없는 벌크 연산은 커밋 후 TeamStatsRebuilder 로 보정
+ * (삭제된 행의 팀/나이는 실행 후에 알 수 없음, 재계산이 벌크 트랜잭션을 늘리거나 같이 롤백되지 않도록 커밋 후 별도 트랜잭션)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamStatsMaintainer implements PostInsertEventListener, PostUpdateEventListener,
+    PostDeleteEventListener {
+
+  // 표준 MERGE ... USING (H2 2.x 에서만 검증). MySQL 은 insert ... on duplicate key update,
+  // PostgreSQL 은 insert ... on conflict (team_id) do update 로 바꿔야 함
+  private static final String MERGE_SQL = "merge into team_stats s"
+      + " using (values (cast(? as bigint), cast(? as bigint), cast(? as bigint))) d(team_id, member_count, age_sum)"
+      + " on s.team_id = d.team_id"
+      + " when matched then update set member_count = s.member_count + d.member_count,"
+      + " age_sum = s.age_sum + d.age_sum"
+      + " when not matched then insert (team_id, member_count, age_sum)"
+      + " values (d.team_id, d.member_count, d.age_sum)";
+
+  private static final Object REBUILD_SCHEDULED = new Object();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TeamStatsRebuilder rebuilder;
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof Member) {
+      EntityPersister persister = event.getPersister();
+      apply(teamId(persister, event.getState()), 1, age(persister, event.getState()));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof Member)) {
+      return;
+    }
+    Object[] oldState = event.getOldState();
+    if (oldState == null) {
+      log.warn("team stats skipped update without previous state, member id={}", event.getId());
+      return;
+    }
+    EntityPersister persister = event.getPersister();
+    Long oldTeamId = teamId(persister, oldState);
+    Long newTeamId = teamId(persister, event.getState());
+    int oldAge = age(persister, oldState);
+    int newAge = age(persister, event.getState());
+
+    if (oldTeamId != null && oldTeamId.equals(newTeamId)) {
+      if (oldAge != newAge) {
+        apply(newTeamId, 0, newAge - oldAge);
+      }
+      return;
+    }
+    apply(oldTeamId, -1, -oldAge);
+    apply(newTeamId, 1, newAge);
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Member) {
+      EntityPersister persister = event.getPersister();
+      apply(teamId(persister, event.getDeletedState()), -1, -age(persister, event.getDeletedState()));
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  // insert 트랜잭션 안에서 발행됨 -> 팀별로 합쳐서 팀 수만큼의 merge 를 batch 로 실행
+  @EventListener
+  public void onMembersIngested(MembersIngestedEvent event) {
+    Map<Long, long[]> deltas = new TreeMap<>(); // 팀 id 순 -> 동시 배치끼리 같은 순서로 행 잠금
+    for (IngestedMember member : event.members()) {
+      if (member.teamId() != null) {
+        long[] delta = deltas.computeIfAbsent(member.teamId(), key -> new long[2]);
+        delta[0]++;
+        delta[1] += member.age();
+      }
+    }
+    if (deltas.isEmpty()) {
+      return;
+    }
+    List<Object[]> args = deltas.entrySet().stream()
+        .map(entry -> new Object[]{entry.getKey(), entry.getValue()[0], entry.getValue()[1]})
+        .toList();
+    jdbcTemplate.batchUpdate(MERGE_SQL, args);
+  }
+
+  // bulkAgePlus(age): age 이상인 회원 나이 +1 -> 실행 후에는 age + 1 이상인 회원이 정확히 변경된 회원
+  @EventListener
+  public void onBulkUpdate(RepositoryBulkUpdateEvent event) {
+    if (event.domainType() == Team.class && event.isBatchDelete()) {
+      rebuildAfterCommit();
+      return;
+    }
+    if (event.domainType() != Member.class) {
+      return;
+    }
+    if (("bulkAgePlus".equals(event.method()) || "bulkAgePlusInContext".equals(event.method()))
+        && event.args().size() == 1 && event.args().get(0) instanceof Integer age) {
+      jdbcTemplate.update("update team_stats s set age_sum = age_sum"
+          + " + (select count(*) from member m where m.team_id = s.team_id and m.age >= ?)", age + 1);
+      return;
+    }
+    // 배치 삭제, 알 수 없는 벌크 연산은 전체 재계산
+    rebuildAfterCommit();
+  }
+
+  // 트랜잭션당 한 번만 등록
+  private void rebuildAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      rebuilder.rebuild();
+      return;
+    }
+    if (TransactionSynchronizationManager.hasResource(REBUILD_SCHEDULED)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(REBUILD_SCHEDULED, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        rebuilder.rebuild();
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(REBUILD_SCHEDULED);
+      }
+    });
+  }
+
+  private void apply(Long teamId, long memberDelta, long ageDelta) {
+    if (teamId == null) {
+      return;
+    }
+    jdbcTemplate.update(MERGE_SQL, teamId, memberDelta, ageDelta);
+  }
+
+  private Long teamId(EntityPersister persister, Object[] state) {
+    Object team = state[persister.getEntityMetamodel().getPropertyIndex("team")];
+    return team != null ? ((Team) team).getId() : null;
+  }
+
+  private int age(EntityPersister persister, Object[] state) {
+    Object age = state[persister.getEntityMetamodel().getPropertyIndex("age")];
+    return age != null ? (Integer) age : 0;
+  }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 증분 갱신이 놓친 변경(벌크 삭제, 직접 SQL 등) 보정용 전체 재계산
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamStatsRebuilder {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // 기본은 비활성("-"), ex) team-stats.rebuild-cron=0 0 4 * * *
+  @Scheduled(cron = "${team-stats.rebuild-cron:-}")
+  public void scheduledRebuild() {
+    rebuild();
+  }
+
+  // JDBC 로 적재한 데이터(perf 시드, 기존 DB)는 증분 갱신을 거치지 않음 -> 기동 시 집계가 비어 있으면 재계산
+  // ApplicationRunner(PerfDataSeeder) 실행 후에 발행됨
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIfEmpty() {
+    Boolean empty = jdbcTemplate.queryForObject("select not exists (select 1 from team_stats)"
+        + " and exists (select 1 from member where team_id is not null)", Boolean.class);
+    if (Boolean.TRUE.equals(empty)) {
+      rebuild();
+    }
+  }
+
+  // 벌크 연산의 커밋 후 보정에서도 호출 -> 항상 자기 트랜잭션에서 실행 (끝난 트랜잭션에 참여 x)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void rebuild() {
+    long start = System.nanoTime();
+    jdbcTemplate.update("delete from team_stats");
+    int teams = jdbcTemplate.update("insert into team_stats (team_id, member_count, age_sum)"
+        + " select team_id, count(*), sum(age) from member where team_id is not null group by team_id");
+    log.info("team stats rebuilt for {} teams in {} ms", teams, (System.nanoTime() - start) / 1_000_000);
+  }
+}
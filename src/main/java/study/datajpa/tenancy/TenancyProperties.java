@@ -0,0 +1,15 @@
+package study.datajpa.tenancy;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tenancy")
+public class TenancyProperties {
+
+  private boolean enabled = false;
+  // 헤더가 없으면 테넌트 필터 x
+  private String header = "X-Tenant-Team-Id";
+}
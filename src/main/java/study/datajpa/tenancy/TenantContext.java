@@ -0,0 +1,50 @@
+package study.datajpa.tenancy;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 테넌트(팀 id). null 이면 전체 조회(관리자, 배치 등)
+ * 트랜잭션 시작 시점에 읽으므로 트랜잭션 밖에서 세팅해야 함
+ */
+public final class TenantContext {
+
+  private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+  private TenantContext() {
+  }
+
+  public static Long current() {
+    return CURRENT.get();
+  }
+
+  public static void set(Long teamId) {
+    if (teamId == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(teamId);
+    }
+  }
+
+  public static void clear() {
+    CURRENT.remove();
+  }
+
+  public static <T> T callAs(Long teamId, Supplier<T> action) {
+    Long previous = CURRENT.get();
+    set(teamId);
+    try {
+      return action.get();
+    } finally {
+      set(previous);
+    }
+  }
+
+  // @Async 스레드로 테넌트 전파 (TaskDecorator)
+  public static Runnable wrap(Runnable task) {
+    Long teamId = CURRENT.get();
+    return () -> callAs(teamId, () -> {
+      task.run();
+      return null;
+    });
+  }
+}
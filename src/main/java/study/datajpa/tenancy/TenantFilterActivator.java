@@ -0,0 +1,47 @@
+package study.datajpa.tenancy;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.Member;
+
+/**
+ * 트랜잭션 시작 시 세션에 teamTenant 필터 on/off.
+ * 리포지토리 메서드(파생 쿼리, @Query, @EntityGraph, Criteria)에 team_id = ? 조건이 붙음
+ * -> (team_id, username) 인덱스로 테넌트 크기만큼만 읽음.
+ * em.find, 네이티브 쿼리, JdbcTemplate 에는 적용 안 됨
+ */
+@Component
+@ConditionalOnProperty(prefix = "tenancy", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TenantFilterActivator implements TransactionExecutionListener {
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  @Override
+  public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+    if (beginFailure != null) {
+      return;
+    }
+    EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+        .getResource(entityManagerFactory);
+    if (holder == null) {
+      return;
+    }
+    Session session = holder.getEntityManager().unwrap(Session.class);
+    Long teamId = TenantContext.current();
+    if (teamId == null) {
+      // OSIV 로 세션을 재사용하는 경우 대비
+      session.disableFilter(Member.TENANT_FILTER);
+    } else {
+      session.enableFilter(Member.TENANT_FILTER).setParameter("teamId", teamId);
+    }
+  }
+}
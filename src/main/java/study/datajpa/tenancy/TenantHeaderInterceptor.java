@@ -0,0 +1,42 @@
+package study.datajpa.tenancy;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// 요청 헤더의 팀 id -> TenantContext, 테넌시가 켜져 있으면 헤더 필수 (없으면 전체 조회가 되므로 400)
+@Component
+@ConditionalOnProperty(prefix = "tenancy", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TenantHeaderInterceptor implements HandlerInterceptor {
+
+  private final TenancyProperties tenancyProperties;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    String value = request.getHeader(tenancyProperties.getHeader());
+    if (!StringUtils.hasText(value)) {
+      TenantContext.clear();
+      response.setStatus(HttpStatus.BAD_REQUEST.value());
+      return false;
+    }
+    try {
+      TenantContext.set(Long.valueOf(value.trim()));
+      return true;
+    } catch (NumberFormatException e) {
+      response.setStatus(HttpStatus.BAD_REQUEST.value());
+      return false;
+    }
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    TenantContext.clear();
+  }
+}
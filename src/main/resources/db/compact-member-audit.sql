@@ -0,0 +1,37 @@
+-- member 감사 컬럼을 축소 형식으로 변환
+-- H2 전용: datediff('MILLISECOND', ...), cast(uuid as binary(16)), alter column ... rename to, shutdown compact
+-- 다른 DB 로 옮길 때 대응
+--   MySQL:      timestampdiff(MICROSECOND, '1970-01-01', col) div 1000, unhex(replace(col, '-', '')),
+--               alter table ... rename column, optimize table member
+--   PostgreSQL: (extract(epoch from col) * 1000)::bigint, decode(replace(col, '-', ''), 'hex') (bytea),
+--               alter table ... rename column, vacuum full member
+-- 대상: created_date, last_modified_date timestamp -> bigint(epoch millis, UTC 벽시계 기준)
+--       created_by, last_modified_by varchar(UUID 문자열) -> binary(16)
+-- ddl-auto: update 는 기존 컬럼 타입을 바꾸지 않으므로 perf 파일 DB 처럼 데이터를 유지하는 환경은
+-- 애플리케이션을 내린 상태에서 이 스크립트를 한 번 실행한 뒤 새 버전으로 기동
+--   java -cp h2.jar org.h2.tools.RunScript -url jdbc:h2:file:./data/datajpa-perf -user sa -script compact-member-audit.sql
+
+alter table member add column created_date_ms bigint;
+alter table member add column last_modified_date_ms bigint;
+alter table member add column created_by_bin binary(16);
+alter table member add column last_modified_by_bin binary(16);
+
+-- EpochMillisConverter 와 같은 규칙: 시간대 변환 없이 1970-01-01 00:00 부터의 밀리초
+update member set
+    created_date_ms = datediff('MILLISECOND', timestamp '1970-01-01 00:00:00', created_date),
+    last_modified_date_ms = datediff('MILLISECOND', timestamp '1970-01-01 00:00:00', last_modified_date),
+    created_by_bin = cast(cast(created_by as uuid) as binary(16)),
+    last_modified_by_bin = cast(cast(last_modified_by as uuid) as binary(16));
+
+alter table member drop column created_date;
+alter table member drop column last_modified_date;
+alter table member drop column created_by;
+alter table member drop column last_modified_by;
+
+alter table member alter column created_date_ms rename to created_date;
+alter table member alter column last_modified_date_ms rename to last_modified_date;
+alter table member alter column created_by_bin rename to created_by;
+alter table member alter column last_modified_by_bin rename to last_modified_by;
+
+-- 삭제한 컬럼 공간 회수 (DB 가 닫힘)
+shutdown compact;
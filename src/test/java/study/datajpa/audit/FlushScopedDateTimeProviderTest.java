@@ -0,0 +1,123 @@
+package study.datajpa.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+
+@SpringBootTest(properties = "auditing.flush-scoped-timestamps=true")
+@Transactional
+class FlushScopedDateTimeProviderTest {
+
+  @PersistenceContext
+  EntityManager em;
+
+  @Autowired
+  CountingClock clock;
+
+  @TestConfiguration
+  static class ClockConfig {
+
+    @Bean
+    @Primary
+    CountingClock countingClock() {
+      return new CountingClock();
+    }
+  }
+
+  // IDENTITY -> persist 시점에 바로 insert (flush 밖) -> persist 마다 Clock 을 읽음
+  @Test
+  void persistsOutsideFlushReadClock() {
+    //given
+    Member member1 = new Member("member1", 10);
+    Member member2 = new Member("member2", 20);
+
+    //when
+    em.persist(member1);
+    clock.advance(Duration.ofSeconds(1));
+    em.persist(member2);
+
+    //then
+    assertThat(member2.getCreatedDate()).isEqualTo(member1.getCreatedDate().plusSeconds(1));
+  }
+
+  // flush 한 번에 dirty 엔티티 N 개 -> Clock 은 한 번만 읽고 모두 같은 시각
+  @Test
+  void flushReadsClockOnce() {
+    //given
+    int count = 1000;
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Member member = new Member("member" + i, 10);
+      em.persist(member);
+      members.add(member);
+    }
+    em.flush();
+    clock.advance(Duration.ofSeconds(1));
+    members.forEach(member -> member.setAge(20));
+    long readsBefore = clock.reads();
+
+    //when
+    em.flush();
+
+    //then
+    assertThat(clock.reads() - readsBefore).isEqualTo(1); // 엔티티마다 읽으면 count 번
+    assertThat(members).extracting(Member::getLastModifiedDate).containsOnly(
+        members.get(0).getLastModifiedDate());
+    assertThat(members.get(0).getLastModifiedDate())
+        .isEqualTo(members.get(0).getCreatedDate().plusSeconds(1));
+
+    // 다음 flush 는 새 시각
+    clock.advance(Duration.ofSeconds(1));
+    members.get(0).setAge(30);
+    em.flush();
+    assertThat(members.get(0).getLastModifiedDate())
+        .isEqualTo(members.get(1).getLastModifiedDate().plusSeconds(1));
+  }
+
+  // 수동으로 진행시키는 Clock, instant() 호출 횟수 = 시각 읽은 횟수
+  static class CountingClock extends Clock {
+
+    private final AtomicLong millis = new AtomicLong(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+    private final AtomicLong reads = new AtomicLong();
+
+    void advance(Duration duration) {
+      millis.addAndGet(duration.toMillis());
+    }
+
+    long reads() {
+      return reads.get();
+    }
+
+    @Override
+    public Instant instant() {
+      reads.incrementAndGet();
+      return Instant.ofEpochMilli(millis.get());
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneId.of("UTC");
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
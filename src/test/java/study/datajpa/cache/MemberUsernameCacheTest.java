@@ -0,0 +1,81 @@
+package study.datajpa.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.jupiter.api.Test;
+
+class MemberUsernameCacheTest {
+
+  @Test
+  void putAndGet() {
+    MemberUsernameCache cache = new MemberUsernameCache(16);
+    cache.put(1L, "member1");
+    cache.put(2L, "member2");
+
+    assertThat(cache.get(1L)).isEqualTo("member1");
+    assertThat(cache.get(2L)).isEqualTo("member2");
+    assertThat(cache.get(3L)).isNull();
+  }
+
+  @Test
+  void lastModified() {
+    MemberUsernameCache cache = new MemberUsernameCache(16);
+    LocalDateTime lastModifiedDate = LocalDateTime.of(2024, 7, 1, 12, 0);
+    cache.put(1L, "member1", lastModifiedDate);
+    cache.put(2L, "member2");
+
+    assertThat(cache.getEntry(1L).lastModified())
+        .isEqualTo(lastModifiedDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    assertThat(cache.getEntry(2L).hasLastModified()).isFalse();
+  }
+
+  @Test
+  void evict() {
+    MemberUsernameCache cache = new MemberUsernameCache(16);
+    cache.put(1L, "member1");
+
+    cache.evict(1L);
+
+    assertThat(cache.get(1L)).isNull();
+  }
+
+  @Test
+  void collisionOverwritesSlot() {
+    MemberUsernameCache cache = new MemberUsernameCache(2);
+    for (long id = 1; id <= 10; id++) {
+      cache.put(id, "member" + id);
+    }
+
+    // 슬롯이 덮어써져도 다른 id 의 값이 반환되면 안됨
+    for (long id = 1; id <= 10; id++) {
+      String username = cache.get(id);
+      assertThat(username).isIn(null, "member" + id);
+    }
+    assertThat(cache.capacity()).isEqualTo(2);
+  }
+
+  // 미스 -> (이전 값 조회) -> 커밋 후 evict -> put : 이전 값이 캐시에 남으면 안됨
+  @Test
+  void putAfterConcurrentEvictIsRejected() {
+    MemberUsernameCache cache = new MemberUsernameCache(16);
+    long stamp = cache.stamp(1L);
+
+    cache.evict(1L);
+
+    assertThat(cache.put(1L, "old", LocalDateTime.of(2024, 7, 1, 12, 0), stamp)).isFalse();
+    assertThat(cache.get(1L)).isNull();
+    assertThat(cache.put(1L, "new", LocalDateTime.of(2024, 7, 1, 12, 1), cache.stamp(1L))).isTrue();
+    assertThat(cache.get(1L)).isEqualTo("new");
+  }
+
+  @Test
+  void olderValueDoesNotReplaceNewer() {
+    MemberUsernameCache cache = new MemberUsernameCache(16);
+    cache.put(1L, "new", LocalDateTime.of(2024, 7, 1, 12, 1));
+
+    assertThat(cache.put(1L, "old", LocalDateTime.of(2024, 7, 1, 12, 0))).isFalse();
+    assertThat(cache.get(1L)).isEqualTo("new");
+  }
+}
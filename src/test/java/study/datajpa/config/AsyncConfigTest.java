@@ -0,0 +1,28 @@
+package study.datajpa.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+// 테스트 application.yml 이 main 설정을 가리므로 deferred 모드는 여기서 지정
+@SpringBootTest(properties = "spring.data.jpa.repositories.bootstrap-mode=deferred")
+class AsyncConfigTest {
+
+  @Autowired
+  LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+
+  @Autowired
+  @Qualifier("applicationTaskExecutor")
+  AsyncTaskExecutor applicationTaskExecutor;
+
+  // bootstrap-mode: deferred -> EntityManagerFactory 를 applicationTaskExecutor 에서 초기화
+  @Test
+  void entityManagerFactoryBootstrapsOnApplicationTaskExecutor() {
+    assertThat(entityManagerFactoryBean.getBootstrapExecutor()).isSameAs(applicationTaskExecutor);
+  }
+}
@@ -0,0 +1,50 @@
+package study.datajpa.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+// 컨트롤러가 별도 트랜잭션으로 조회하므로 테스트 트랜잭션(@Transactional) 사용 x
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberCompactListTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void cursorPages() throws Exception {
+    //given
+    Member member1 = memberRepository.save(new Member("member1", 10));
+    Member member2 = memberRepository.save(new Member("member2", 20));
+    Member member3 = memberRepository.save(new Member("member3", 30));
+
+    //when, then
+    mockMvc.perform(get("/members/compact").param("size", "2").param("total", "true"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"content\":[{\"id\":" + member1.getId() + ",\"username\":\"member1\"},"
+            + "{\"id\":" + member2.getId() + ",\"username\":\"member2\"}],"
+            + "\"nextCursor\":" + member2.getId() + ",\"total\":3}", true));
+    mockMvc.perform(get("/members/compact").param("size", "2").param("cursor", member2.getId().toString()))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"content\":[{\"id\":" + member3.getId() + ",\"username\":\"member3\"}],"
+            + "\"nextCursor\":null}", true));
+  }
+}
@@ -0,0 +1,72 @@
+package study.datajpa.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+// 캐시 무효화가 커밋 이후에 일어나므로 테스트 트랜잭션(@Transactional) 사용 x
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberConditionalGetTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void notModifiedUntilMemberChanges() throws Exception {
+    //given
+    Member member = memberRepository.save(new Member("member", 10));
+
+    MvcResult first = mockMvc.perform(get("/members/{id}", member.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+        .andExpect(content().string("member"))
+        .andReturn();
+    String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+    String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+    //when, then
+    mockMvc.perform(get("/members/{id}", member.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+    mockMvc.perform(get("/members/{id}", member.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+        .andExpect(status().isNotModified());
+    mockMvc.perform(get("/members2/{id}", member.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    // lastModifiedDate 가 바뀌도록 잠깐 대기 후 변경 -> 커밋 후 캐시 무효화
+    Thread.sleep(10);
+    Member found = memberRepository.findById(member.getId()).orElseThrow();
+    found.setUsername("renamed");
+    memberRepository.save(found);
+
+    MvcResult changed = mockMvc.perform(
+            get("/members/{id}", member.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(content().string("renamed"))
+        .andReturn();
+    assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull().isNotEqualTo(etag);
+  }
+}
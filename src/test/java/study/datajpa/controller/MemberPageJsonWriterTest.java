@@ -0,0 +1,37 @@
+package study.datajpa.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class MemberPageJsonWriterTest {
+
+  @Test
+  void writePage() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    try (MemberPageJsonWriter writer = new MemberPageJsonWriter(new JsonFactory(), out)) {
+      writer.writeMember(1L, "member1");
+      writer.writeMember(2L, "member\"2");
+      writer.finish(2L, 10L);
+    }
+
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+        "{\"content\":[{\"id\":1,\"username\":\"member1\"},{\"id\":2,\"username\":\"member\\\"2\"}],"
+            + "\"nextCursor\":2,\"total\":10}");
+  }
+
+  @Test
+  void lastPageWithoutTotal() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    try (MemberPageJsonWriter writer = new MemberPageJsonWriter(new JsonFactory(), out)) {
+      writer.finish(null, null);
+    }
+
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"content\":[],\"nextCursor\":null}");
+  }
+}
@@ -0,0 +1,57 @@
+package study.datajpa.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import study.datajpa.dto.MemberSummaryDto;
+
+// /members/summary 의 세 쿼리를 각각 DELAY_MILLIS 만큼 느리게 만들어서
+// 응답 시간이 합(3 x DELAY)이 아니라 가장 느린 쿼리(1 x DELAY) 수준인지 확인
+@SpringBootTest
+class MemberSummaryLatencyTest {
+
+  static final long DELAY_MILLIS = 300;
+
+  @Autowired
+  MemberController memberController;
+
+  @TestConfiguration
+  static class SlowQueryConfig {
+
+    // 리포지토리 비동기 풀에서 실행되는 statement 만 지연
+    @Bean
+    JdbcEventListener slowAsyncQueries() {
+      return new JdbcEventListener() {
+        @Override
+        public void onBeforeAnyExecute(StatementInformation statementInformation) {
+          if (Thread.currentThread().getName().startsWith("repo-async-")) {
+            try {
+              Thread.sleep(DELAY_MILLIS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        }
+      };
+    }
+  }
+
+  @Test
+  void summaryLatencyApproachesSlowestQuery() {
+    memberController.summary().join(); // 풀 스레드, 커넥션 준비
+
+    long start = System.nanoTime();
+    MemberSummaryDto summary = memberController.summary().join();
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertThat(summary).isNotNull();
+    assertThat(elapsedMillis).isGreaterThanOrEqualTo(DELAY_MILLIS)
+        .isLessThan(2 * DELAY_MILLIS); // 순차 실행이면 3 x DELAY 이상
+  }
+}
@@ -0,0 +1,57 @@
+package study.datajpa.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.diagnostics.ConnectionProfiler.Usage;
+import study.datajpa.repository.MemberRepository;
+
+// 리포지토리 메서드가 직접 트랜잭션, 커넥션을 잡아야 하므로 테스트 트랜잭션(@Transactional) 사용 x
+@SpringBootTest
+class ConnectionProfilerTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  ConnectionProfiler connectionProfiler;
+
+  @Test
+  void recordsConnectionAndTransactionPerRepositoryMethod() {
+    connectionProfiler.reset();
+
+    memberRepository.count();
+    memberRepository.count();
+
+    Usage usage = connectionProfiler.repositoryMethods().get("MemberRepository.count");
+    assertThat(usage).isNotNull();
+    assertThat(usage.getConnections()).isEqualTo(2);
+    assertThat(usage.getTransactions()).isEqualTo(2);
+    assertThat(usage.getStatements()).isEqualTo(2);
+    assertThat(usage.getMaxHoldMillis()).isGreaterThanOrEqualTo(usage.getAvgHoldMillis());
+    assertThat(connectionProfiler.endpoints()).containsKey(ConnectionProfiler.UNKNOWN);
+  }
+
+  // 같은 엔드포인트라도 X-Load-Scenario 별로 따로 집계
+  @Test
+  void recordsStatementsPerScenario() {
+    connectionProfiler.reset();
+
+    try {
+      EndpointContext.set("GET /members/{id}", "member-hot");
+      memberRepository.count();
+      EndpointContext.set("GET /members/{id}", "member-cold");
+      memberRepository.count();
+      memberRepository.count();
+    } finally {
+      EndpointContext.clear();
+    }
+
+    assertThat(connectionProfiler.scenarios()).containsOnlyKeys("member-hot", "member-cold");
+    assertThat(connectionProfiler.scenarios().get("member-hot").getStatements()).isEqualTo(1);
+    assertThat(connectionProfiler.scenarios().get("member-cold").getStatements()).isEqualTo(2);
+    assertThat(connectionProfiler.endpoints().get("GET /members/{id}").getStatements()).isEqualTo(3);
+  }
+}
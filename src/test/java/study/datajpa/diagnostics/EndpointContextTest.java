@@ -0,0 +1,52 @@
+package study.datajpa.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@SpringBootTest
+class EndpointContextTest {
+
+  @Autowired
+  ThreadPoolTaskExecutor repositoryAsyncExecutor;
+
+  @AfterEach
+  void cleanUp() {
+    EndpointContext.clear();
+  }
+
+  // @Async 리포지토리 호출의 커넥션 사용도 요청 엔드포인트로 집계되도록 전파
+  @Test
+  void repositoryAsyncExecutorPropagatesEndpoint() throws Exception {
+    //given
+    EndpointContext.set("GET /members/summary");
+
+    //when
+    Future<String> endpoint = repositoryAsyncExecutor.submit(EndpointContext::current);
+
+    //then
+    assertThat(endpoint.get(5, TimeUnit.SECONDS)).isEqualTo("GET /members/summary");
+  }
+
+  // CallerRuns 로 호출 스레드에서 실행돼도 작업 후 이전 값 복원
+  @Test
+  void wrapRestoresPreviousEndpoint() {
+    //given
+    EndpointContext.set("GET /members/summary");
+    Runnable task = EndpointContext.wrap(() ->
+        assertThat(EndpointContext.current()).isEqualTo("GET /members/summary"));
+    EndpointContext.set("POST /exports/members");
+
+    //when
+    task.run();
+
+    //then
+    assertThat(EndpointContext.current()).isEqualTo("POST /exports/members");
+  }
+}
@@ -0,0 +1,68 @@
+package study.datajpa.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.repository.MemberRepository;
+
+// 자주 호출되는 메서드의 SQL 모양 수가 입력값에 따라 무한히 늘어나면 실패
+// 테스트 application.yml 이 main 설정을 가리므로 모양 수에 영향을 주는 설정은 여기서 고정
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=true",
+    "diagnostics.max-tracked-shapes=256"})
+@Transactional
+class SqlShapeRegressionTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  MemberJpaRepository memberJpaRepository;
+
+  @Autowired
+  SqlShapeRecorder sqlShapeRecorder;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 10; i++) {
+      memberRepository.save(new Member("member" + i, 10));
+    }
+    sqlShapeRecorder.reset();
+  }
+
+  @Test
+  void findByNamesShapesAreBounded() {
+    List<String> names = new ArrayList<>();
+    for (int i = 1; i <= 100; i++) {
+      names.add("member" + i);
+      memberRepository.findByNames(names);
+    }
+
+    // in_clause_parameter_padding -> 1,2,4,...,128 개
+    SqlShapeRecorder.MethodShapes shapes = sqlShapeRecorder.get("MemberRepository.findByNames");
+    assertThat(shapes.getExecutions()).isEqualTo(100);
+    assertThat(shapes.getDistinctShapes()).isLessThanOrEqualTo(8);
+  }
+
+  @Test
+  void findByPageShapesAreBounded() {
+    for (int offset = 0; offset < 50; offset++) {
+      memberJpaRepository.findByPage(10, offset, 3);
+      memberJpaRepository.totalCount(10);
+    }
+
+    // offset 0 (limit 만) / offset > 0 두 가지
+    assertThat(sqlShapeRecorder.get("MemberJpaRepository.findByPage").getDistinctShapes())
+        .isLessThanOrEqualTo(2);
+    assertThat(sqlShapeRecorder.get("MemberJpaRepository.totalCount").getDistinctShapes())
+        .isEqualTo(1);
+  }
+}
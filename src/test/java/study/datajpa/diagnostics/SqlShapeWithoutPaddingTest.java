@@ -0,0 +1,38 @@
+package study.datajpa.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.repository.MemberRepository;
+
+// SqlShapeRegressionTest 의 상한이 in_clause_parameter_padding 덕분인지 확인 (끄면 이름 수만큼 모양이 생김)
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=false",
+    "diagnostics.max-tracked-shapes=256"})
+@Transactional
+class SqlShapeWithoutPaddingTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  SqlShapeRecorder sqlShapeRecorder;
+
+  @Test
+  void findByNamesShapesGrowWithoutPadding() {
+    sqlShapeRecorder.reset();
+    List<String> names = new ArrayList<>();
+    for (int i = 1; i <= 100; i++) {
+      names.add("member" + i);
+      memberRepository.findByNames(names);
+    }
+
+    assertThat(sqlShapeRecorder.get("MemberRepository.findByNames").getDistinctShapes())
+        .isGreaterThan(8);
+  }
+}
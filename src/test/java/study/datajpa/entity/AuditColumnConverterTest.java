@@ -0,0 +1,38 @@
+package study.datajpa.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class AuditColumnConverterTest {
+
+  @Test
+  void epochMillisRoundTrip() {
+    EpochMillisConverter converter = new EpochMillisConverter();
+    LocalDateTime value = LocalDateTime.of(2024, 3, 31, 2, 30, 15, 123_456_789);
+
+    Long millis = converter.convertToDatabaseColumn(value);
+
+    assertThat(millis).isEqualTo(1711852215123L); // UTC 벽시계 기준
+    assertThat(converter.convertToEntityAttribute(millis)).isEqualTo(value.withNano(123_000_000));
+    assertThat(converter.convertToDatabaseColumn(null)).isNull();
+  }
+
+  @Test
+  void uuidBytesRoundTrip() {
+    UuidBytesConverter converter = new UuidBytesConverter();
+    String uuid = UUID.randomUUID().toString();
+
+    byte[] bytes = converter.convertToDatabaseColumn(uuid);
+
+    assertThat(bytes).hasSize(16);
+    assertThat(converter.convertToEntityAttribute(bytes)).isEqualTo(uuid);
+    assertThat(UuidBytesConverter.toBytes("00000000-0000-0001-0000-000000000002"))
+        .containsExactly(0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 2);
+    assertThatThrownBy(() -> converter.convertToDatabaseColumn("admin"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
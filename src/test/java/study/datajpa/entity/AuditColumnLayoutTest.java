@@ -0,0 +1,136 @@
+package study.datajpa.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 감사 컬럼 기본 형식(timestamp(6), UUID varchar) vs 축소 형식(bigint, binary(16)) 의 파일 크기, 조회 시간 비교.
+ * 같은 데이터를 H2 파일 DB 두 개에 넣고 축소 쪽은 db/compact-member-audit.sql 로 변환 (변환 스크립트 검증 겸용).
+ * 크기만 검증하고 시간은 로그로 남김
+ */
+@Slf4j
+class AuditColumnLayoutTest {
+
+  private static final int ROWS = 100_000;
+  private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+  // created_date 범위 조회 시작점 -> 마지막 10% 행
+  private static final int RANGE_FROM = ROWS * 9 / 10;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void compactAuditColumnsShrinkTable() throws Exception {
+    //given
+    String wideUrl = url("wide");
+    String compactUrl = url("compact");
+    for (String url : new String[]{wideUrl, compactUrl}) {
+      try (Connection connection = DriverManager.getConnection(url, "sa", "");
+          Statement statement = connection.createStatement()) {
+        // Hibernate 가 만드는 기본 형식과 같은 컬럼 타입
+        statement.execute("create table member (member_id bigint primary key, username varchar(255),"
+            + " age integer not null, team_id bigint, created_date timestamp(6), last_modified_date timestamp(6),"
+            + " created_by varchar(255), last_modified_by varchar(255))");
+        statement.execute("insert into member select x, 'member' || x, mod(x, 60), null,"
+            + " dateadd('SECOND', x, timestamp '2024-01-01 00:00:00'),"
+            + " dateadd('SECOND', x, timestamp '2024-01-01 00:00:00'),"
+            + " cast(random_uuid() as varchar), cast(random_uuid() as varchar)"
+            + " from system_range(1, " + ROWS + ")");
+      }
+    }
+
+    //when
+    runScript(compactUrl, "/db/compact-member-audit.sql");
+    for (String url : new String[]{wideUrl, compactUrl}) {
+      try (Connection connection = DriverManager.getConnection(url, "sa", "");
+          Statement statement = connection.createStatement()) {
+        statement.execute("create index idx_member_created_date on member (created_date)");
+        statement.execute("shutdown compact");
+      }
+    }
+    long wideBytes = Files.size(dir.resolve("wide.mv.db"));
+    long compactBytes = Files.size(dir.resolve("compact.mv.db"));
+
+    LocalDateTime from = BASE.plusSeconds(RANGE_FROM);
+    long[] wide = measure(wideUrl, from);
+    long[] compact = measure(compactUrl, new EpochMillisConverter().convertToDatabaseColumn(from));
+    log.info("member audit columns ({} rows): file {} -> {} bytes ({}%),"
+            + " full scan {} -> {} us, created_date index range {} -> {} us",
+        ROWS, wideBytes, compactBytes, compactBytes * 100 / wideBytes, wide[2], compact[2], wide[3],
+        compact[3]);
+
+    //then
+    assertThat(compactBytes).isLessThan(wideBytes);
+    assertThat(compact[0]).isEqualTo(wide[0]).isEqualTo(ROWS);
+    assertThat(compact[1]).isEqualTo(wide[1]).isEqualTo(ROWS - RANGE_FROM + 1);
+  }
+
+  private String url(String name) {
+    return "jdbc:h2:file:" + dir.resolve(name).toAbsolutePath();
+  }
+
+  // {전체 scan 건수, 범위 조회 건수, 전체 scan 평균 us, 범위 조회 평균 us}
+  private static long[] measure(String url, Object from) throws SQLException {
+    int iterations = 10;
+    long[] result = new long[4];
+    try (Connection connection = DriverManager.getConnection(url, "sa", "");
+        PreparedStatement fullScan = connection.prepareStatement(
+            "select count(*) from member where last_modified_by is not null and last_modified_date is not null");
+        PreparedStatement range = connection.prepareStatement(
+            "select count(*) from member where created_date >= ?")) {
+      range.setObject(1, from);
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        result[0] = count(fullScan);
+      }
+      result[2] = (System.nanoTime() - start) / 1_000 / iterations;
+      start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        result[1] = count(range);
+      }
+      result[3] = (System.nanoTime() - start) / 1_000 / iterations;
+    }
+    return result;
+  }
+
+  private static long count(PreparedStatement statement) throws SQLException {
+    try (ResultSet rs = statement.executeQuery()) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  // 스크립트 마지막 shutdown compact 로 DB 가 닫힘
+  private static void runScript(String url, String resource) throws SQLException, IOException {
+    String script;
+    try (InputStream in = AuditColumnLayoutTest.class.getResourceAsStream(resource)) {
+      script = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+          .filter(line -> !line.startsWith("--"))
+          .collect(Collectors.joining("\n"));
+    }
+    try (Connection connection = DriverManager.getConnection(url, "sa", "");
+        Statement statement = connection.createStatement()) {
+      for (String sql : script.split(";")) {
+        if (!sql.isBlank()) {
+          statement.execute(sql);
+        }
+      }
+    }
+  }
+}
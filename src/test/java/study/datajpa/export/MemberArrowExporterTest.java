@@ -0,0 +1,161 @@
+package study.datajpa.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+// 익스포터는 별도 커넥션으로 읽으므로 테스트 트랜잭션(@Transactional) 사용 x
+@Slf4j
+@SpringBootTest(properties = "member.export.batch-size=2")
+class MemberArrowExporterTest {
+
+  @Autowired
+  MemberArrowExporter exporter;
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @TempDir
+  Path dir;
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+    teamRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void exportArrowInRecordBatches() throws Exception {
+    //given
+    Team team = teamRepository.save(new Team("teamA"));
+    memberRepository.save(new Member("member1", 10, team));
+    memberRepository.save(new Member("member2", 20, team));
+    memberRepository.save(new Member("member3", 30));
+
+    //when
+    MemberExportResult result = exporter.exportArrow(dir.resolve("members.arrow"));
+    MemberExportResult csv = exporter.exportCsv(dir.resolve("members.csv"));
+
+    //then
+    assertThat(result.rows()).isEqualTo(3);
+    assertThat(csv.rows()).isEqualTo(3);
+
+    List<String> usernames = new ArrayList<>();
+    List<String> teamNames = new ArrayList<>();
+    int batches = 0;
+    try (BufferAllocator allocator = new RootAllocator();
+        FileChannel channel = FileChannel.open(result.file());
+        ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      while (reader.loadNextBatch()) {
+        batches++;
+        VarCharVector username = (VarCharVector) root.getVector("username");
+        VarCharVector teamName = (VarCharVector) root.getVector("team_name");
+        BigIntVector teamId = (BigIntVector) root.getVector("team_id");
+        for (int i = 0; i < root.getRowCount(); i++) {
+          usernames.add(new String(username.get(i)));
+          teamNames.add(teamId.isNull(i) ? null : new String(teamName.get(i)));
+        }
+      }
+    }
+    assertThat(batches).isEqualTo(2); // batch-size=2
+    assertThat(usernames).containsExactly("member1", "member2", "member3");
+    assertThat(teamNames).containsExactly("teamA", "teamA", null);
+  }
+
+  // 같은 파일로 동시에 export 해도 임시 파일 -> rename 이라 완성된 파일만 남음
+  @Test
+  void concurrentExportsReplaceFileAtomically() throws Exception {
+    //given
+    memberRepository.save(new Member("member1", 10));
+    memberRepository.save(new Member("member2", 20));
+    memberRepository.save(new Member("member3", 30));
+    Path file = dir.resolve("members.arrow");
+
+    //when
+    CompletableFuture.allOf(IntStream.range(0, 4)
+        .mapToObj(i -> CompletableFuture.runAsync(() -> exporter.exportArrow(file)))
+        .toArray(CompletableFuture[]::new)).join();
+
+    //then
+    long rows = 0;
+    try (BufferAllocator allocator = new RootAllocator();
+        FileChannel channel = FileChannel.open(file);
+        ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+      while (reader.loadNextBatch()) {
+        rows += reader.getVectorSchemaRoot().getRowCount();
+      }
+    }
+    assertThat(rows).isEqualTo(3);
+    try (Stream<Path> files = Files.list(dir)) {
+      assertThat(files).containsExactly(file);
+    }
+  }
+
+  // 행 수가 늘어도 Arrow 버퍼 최대 사용량은 batch 하나 분량 그대로 (전체를 벡터에 모으면
+  // 기본 할당(약 4천 행)을 넘어서 버퍼가 커짐)
+  @Test
+  void exportMemoryDoesNotGrowWithRows() throws Exception {
+    //given
+    memberRepository.save(new Member("member1", 10));
+    memberRepository.save(new Member("member2", 20));
+    memberRepository.save(new Member("member3", 30));
+    MemberExportResult small = exporter.exportArrow(dir.resolve("small.arrow"));
+
+    int rows = 10_000;
+    List<Object[]> args = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      args.add(new Object[]{"bulk" + i, i % 60});
+    }
+    jdbcTemplate.batchUpdate("insert into member (username, age) values (?, ?)", args);
+
+    //when
+    MemberExportResult large = exporter.exportArrow(dir.resolve("large.arrow"));
+    log.info("arrow export: {} rows, {} rows/s, peak buffer {} bytes ({} bytes for {} rows)",
+        large.rows(), Math.round(large.getRowsPerSecond()), large.peakBufferBytes(),
+        small.peakBufferBytes(), small.rows());
+
+    //then
+    assertThat(large.rows()).isEqualTo(rows + 3);
+    assertThat(small.peakBufferBytes()).isPositive();
+    assertThat(large.peakBufferBytes()).isLessThanOrEqualTo(small.peakBufferBytes());
+
+    long batches = 0;
+    try (BufferAllocator allocator = new RootAllocator();
+        FileChannel channel = FileChannel.open(large.file());
+        ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+      batches = reader.getRecordBlocks().size();
+    }
+    assertThat(batches).isEqualTo((rows + 3 + 1) / 2);
+  }
+}
@@ -0,0 +1,150 @@
+package study.datajpa.guard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.guard.QueryGuardProperties.Violation;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+@SpringBootTest(properties = {
+    "repository.guard.enabled=true",
+    "repository.guard.max-rows=3",
+    "repository.guard.on-violation=fail",
+    "repository.guard.methods[MemberRepository.findMemberDto].max-rows=2",
+    "repository.guard.methods[MemberRepository.findMemberDto].on-violation=truncate"})
+// 가드는 가드 호출 / 요청 scope 안에서 얻은 커넥션에만 적용 -> 테스트 트랜잭션(@Transactional) 사용 x
+class QueryGuardTest {
+
+  // 행마다 1ms 씩 쉬는 느린 쿼리, H2 는 128 행마다 취소/타임아웃 확인
+  private static final String SLOW_QUERY =
+      "select x from system_range(1, 100000) where SLEEP_MILLIS(1) < 0";
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @Autowired
+  QueryGuardStats queryGuardStats;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    queryGuardStats.reset();
+    Team team = teamRepository.save(new Team("teamA"));
+    for (int i = 0; i < 4; i++) {
+      memberRepository.save(new Member("member" + i, 10 + i, team));
+    }
+    jdbcTemplate.execute("create alias if not exists SLEEP_MILLIS for '"
+        + H2Functions.class.getName() + ".sleepMillis'");
+  }
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+    teamRepository.deleteAllInBatch();
+    jdbcTemplate.update("delete from team_stats");
+  }
+
+  @Test
+  void rejectsListOverMaxRows() {
+    assertThatThrownBy(() -> memberRepository.findAll())
+        .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    assertThatThrownBy(() -> memberRepository.findMemberFetchJoin())
+        .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+
+    assertThat(queryGuardStats.snapshot().get("MemberRepository.findAll").getRejected()).isEqualTo(1);
+  }
+
+  @Test
+  void truncatesWithMethodLimit() {
+    assertThat(memberRepository.findMemberDto()).hasSize(2);
+
+    QueryGuardStats.Trips trips = queryGuardStats.snapshot().get("MemberRepository.findMemberDto");
+    assertThat(trips.getCalls()).isEqualTo(1);
+    assertThat(trips.getTruncated()).isEqualTo(1);
+  }
+
+  @Test
+  void cancelledScopeRejectsQueries() {
+    QueryCancellationScope scope = new QueryCancellationScope();
+    scope.cancel("test");
+
+    assertThatThrownBy(() -> scope.call(() -> memberRepository.findUsernameList()))
+        .isInstanceOf(DataAccessException.class)
+        .hasRootCauseInstanceOf(SQLTimeoutException.class);
+    assertThat(scope.running()).isZero();
+    assertThat(queryGuardStats.snapshot().get("MemberRepository.findUsernameList").getCancelled())
+        .isEqualTo(1);
+  }
+
+  // 클라이언트 연결 끊김(AsyncListener.onError) 과 같은 경로: 실행 중인 statement 를 Statement.cancel()
+  @Test
+  void cancelsRunningQuery() throws Exception {
+    QueryCancellationScope scope = new QueryCancellationScope();
+    CompletableFuture<Object> query = CompletableFuture.supplyAsync(
+        () -> scope.call(() -> jdbcTemplate.queryForList(SLOW_QUERY, Long.class)));
+    awaitRunning(scope);
+
+    long start = System.nanoTime();
+    scope.cancel("client disconnected");
+
+    assertThatThrownBy(() -> query.get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(DataAccessException.class)
+        .hasRootCauseInstanceOf(SQLTimeoutException.class);
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    assertThat(scope.running()).isZero();
+  }
+
+  @Test
+  void appliesRuleTimeout() {
+    QueryGuardContext.set(new QueryGuardRule("QueryGuardTest.slow", 0, Duration.ofSeconds(1), Violation.FAIL));
+    long start = System.nanoTime();
+    try {
+      assertThatThrownBy(() -> jdbcTemplate.queryForList(SLOW_QUERY, Long.class))
+          .isInstanceOf(DataAccessException.class)
+          .hasRootCauseInstanceOf(SQLTimeoutException.class);
+    } finally {
+      QueryGuardContext.clear();
+    }
+    assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isGreaterThanOrEqualTo(Duration.ofSeconds(1))
+        .isLessThan(Duration.ofSeconds(10));
+  }
+
+  private static void awaitRunning(QueryCancellationScope scope) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (scope.running() == 0) {
+      assertThat(System.nanoTime()).as("query did not start").isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  public static class H2Functions {
+
+    public static int sleepMillis(int millis) throws InterruptedException {
+      Thread.sleep(millis);
+      return millis;
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package study.datajpa.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.TeamStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.search.UsernamePrefixIndex;
+
+@SpringBootTest(properties = {"member.ingest.enabled=true", "member.ingest.max-delay=200ms"})
+class MemberIngestionPipelineTest {
+
+  @Autowired
+  MemberIngestionPipeline pipeline;
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  TransactionTemplate transactionTemplate;
+
+  @Autowired
+  AuditorAware<String> auditorProvider;
+
+  @Autowired
+  Clock clock;
+
+  @Autowired
+  MemberIngestProperties properties;
+
+  @Autowired
+  ApplicationEventPublisher publisher;
+
+  @Autowired
+  UsernamePrefixIndex usernamePrefixIndex;
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+    jdbcTemplate.update("delete from team_stats");
+    teamRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void batchInsert() {
+    //given
+    long batchesBefore = pipeline.getCommittedBatches();
+    List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+    //when
+    for (int i = 0; i < 20; i++) {
+      futures.add(pipeline.submit(new MemberCreateCommand("member" + i, i, null)));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+    //then
+    List<Long> ids = futures.stream().map(CompletableFuture::join).toList();
+    assertThat(ids).doesNotHaveDuplicates().hasSize(20);
+
+    Member member = memberRepository.findById(ids.get(3)).get();
+    assertThat(member.getUsername()).isEqualTo("member3");
+    assertThat(member.getCreatedDate()).isNotNull();
+
+    // 20건이 건당 커밋이 아니라 몇 개의 배치로 묶여서 커밋
+    assertThat(pipeline.getCommittedBatches() - batchesBefore).isLessThan(20);
+  }
+
+  // JDBC insert 도 team_stats 에 팀별 증분 반영
+  @Test
+  void teamStatsIncludePipelineInserts() {
+    //given
+    Team team = teamRepository.save(new Team("teamA"));
+
+    //when
+    CompletableFuture.allOf(
+        pipeline.submit(new MemberCreateCommand("member1", 10, team.getId())),
+        pipeline.submit(new MemberCreateCommand("member2", 20, team.getId())),
+        pipeline.submit(new MemberCreateCommand("member3", 30, null))).join();
+
+    //then
+    TeamStatsDto stats = teamRepository.findTeamStats().get(0);
+    assertThat(stats.getMemberCount()).isEqualTo(2);
+    assertThat(stats.getAverageAge()).isEqualTo(15.0);
+  }
+
+  // JDBC insert 도 커밋 후 username 자동완성 인덱스에 반영 (future 완료 전에 반영됨)
+  @Test
+  void usernameIndexIncludesPipelineInserts() {
+    //when
+    CompletableFuture.allOf(
+        pipeline.submit(new MemberCreateCommand("ingested1", 10, null)),
+        pipeline.submit(new MemberCreateCommand("ingested2", 20, null))).join();
+
+    //then
+    assertThat(usernamePrefixIndex.search("ingested", 10)).containsExactly("ingested1", "ingested2");
+  }
+
+  // 중지 전에 받은 요청은 커밋, 중지 후 요청은 바로 거절 (대기 상태로 남지 않음)
+  @Test
+  void submitAfterStopIsRejected() throws InterruptedException {
+    //given
+    MemberIngestionPipeline separate = new MemberIngestionPipeline(jdbcTemplate, transactionTemplate,
+        auditorProvider, clock, properties, publisher);
+    separate.start();
+    CompletableFuture<Long> accepted = separate.submit(new MemberCreateCommand("member1", 10, null));
+
+    //when
+    separate.stop();
+    CompletableFuture<Long> rejected = separate.submit(new MemberCreateCommand("member2", 20, null));
+
+    //then
+    assertThat(accepted.join()).isNotNull();
+    assertThat(rejected).isCompletedExceptionally();
+    assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+  }
+}
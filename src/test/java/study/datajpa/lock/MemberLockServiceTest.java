@@ -0,0 +1,77 @@
+package study.datajpa.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 스트라이프 락은 트랜잭션 밖에서 잡아야 하므로 테스트 트랜잭션(@Transactional) 사용 x
+@SpringBootTest(properties = {"member.username-lock.enabled=true", "member.username-lock.timeout=200ms"})
+class MemberLockServiceTest {
+
+  @Autowired
+  MemberLockService memberLockService;
+
+  @Autowired
+  TransactionTemplate transactionTemplate;
+
+  @Test
+  void timeoutWhileAnotherThreadHoldsStripe() throws Exception {
+    //given
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Integer> holder = CompletableFuture.supplyAsync(() ->
+        memberLockService.withUsernameLock("hot", members -> {
+          entered.countDown();
+          await(release);
+          return members.size();
+        }));
+    assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+    long timeoutsBefore = memberLockService.getTimeouts();
+
+    //when, then
+    assertThatThrownBy(() -> memberLockService.withUsernameLock("hot", members -> members.size()))
+        .isInstanceOf(CannotAcquireLockException.class);
+    assertThat(memberLockService.getTimeouts()).isEqualTo(timeoutsBefore + 1);
+
+    release.countDown();
+    assertThat(holder.get(5, TimeUnit.SECONDS)).isZero();
+  }
+
+  // 롤백으로 끝나도 afterCompletion 에서 해제 -> 다른 스레드가 바로 획득
+  @Test
+  void stripeReleasedAfterRollback() {
+    assertThatThrownBy(() -> memberLockService.withUsernameLock("hot", members -> {
+      throw new IllegalStateException("boom");
+    })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+    long timeoutsBefore = memberLockService.getTimeouts();
+    Integer size = CompletableFuture.supplyAsync(() ->
+        memberLockService.withUsernameLock("hot", members -> members.size())).join();
+
+    assertThat(size).isZero();
+    assertThat(memberLockService.getTimeouts()).isEqualTo(timeoutsBefore);
+  }
+
+  @Test
+  void rejectedInsideTransaction() {
+    assertThatThrownBy(() -> transactionTemplate.execute(status ->
+        memberLockService.withUsernameLock("hot", members -> members.size())))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
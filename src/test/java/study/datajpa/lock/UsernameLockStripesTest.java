@@ -0,0 +1,51 @@
+package study.datajpa.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.jupiter.api.Test;
+
+class UsernameLockStripesTest {
+
+  @Test
+  void sameUsernameSameLock() {
+    UsernameLockStripes stripes = new UsernameLockStripes(10, false);
+
+    assertThat(stripes.size()).isEqualTo(16);
+    assertThat(stripes.lockFor("member1")).isSameAs(stripes.lockFor(new String("member1")));
+  }
+
+  @Test
+  void onlyOneThreadPerKey() throws Exception {
+    UsernameLockStripes stripes = new UsernameLockStripes(16, true);
+    AtomicInteger inside = new AtomicInteger();
+    AtomicInteger maxInside = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(8);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    for (int i = 0; i < 8; i++) {
+      executor.submit(() -> {
+        ReentrantLock lock = stripes.lockFor("hot");
+        lock.lock();
+        try {
+          maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+          Thread.sleep(5);
+          inside.decrementAndGet();
+        } finally {
+          lock.unlock();
+          done.countDown();
+        }
+        return null;
+      });
+    }
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+    assertThat(maxInside.get()).isEqualTo(1);
+  }
+}
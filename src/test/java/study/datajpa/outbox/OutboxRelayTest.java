@@ -0,0 +1,141 @@
+package study.datajpa.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.ingest.MemberCreateCommand;
+import study.datajpa.ingest.MemberIngestionPipeline;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+// 커밋된 기록만 릴레이 되므로 테스트 트랜잭션 사용 x, 스케줄러는 사실상 끔
+@SpringBootTest(properties = {"outbox.enabled=true", "outbox.relay-interval=PT1H",
+    "member.ingest.enabled=true", "member.ingest.max-delay=50ms"})
+class OutboxRelayTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @Autowired
+  OutboxRelay outboxRelay;
+
+  @Autowired
+  OutboxSink outboxSink;
+
+  @Autowired
+  TransactionTemplate transactionTemplate;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  MemberIngestionPipeline ingestionPipeline;
+
+  @BeforeEach
+  void setUp() {
+    outboxRelay.relay();
+    ((InMemoryOutboxSink) outboxSink).clear();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+    teamRepository.deleteAllInBatch();
+    jdbcTemplate.update("delete from outbox_event");
+  }
+
+  @Test
+  void relayEntityAndBulkChanges() {
+    //given
+    Team team = teamRepository.save(new Team("teamA"));
+    memberRepository.save(new Member("member1", 10, team));
+    Member member2 = memberRepository.save(new Member("member2", 30, team));
+    transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(20));
+
+    //when
+    int relayed = outboxRelay.relay();
+
+    //then
+    List<OutboxMessage> messages = ((InMemoryOutboxSink) outboxSink).getMessages();
+    assertThat(relayed).isEqualTo(4);
+    assertThat(messages).extracting(OutboxMessage::aggregateType, OutboxMessage::eventType)
+        .containsExactly(
+            tuple("Team", "CREATED"),
+            tuple("Member", "CREATED"),
+            tuple("Member", "CREATED"),
+            tuple("Member", "BULK_UPDATE"));
+    assertThat(messages.get(3).payload()).contains("bulkAgePlus")
+        .contains("\"ids\":[" + member2.getId() + "]");
+    assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_event", Long.class)).isZero();
+  }
+
+  @Test
+  void relayPipelineInserts() {
+    //given
+    Long id = ingestionPipeline.submit(new MemberCreateCommand("member1", 10, null)).join();
+
+    //when
+    outboxRelay.relay();
+
+    //then
+    assertThat(((InMemoryOutboxSink) outboxSink).getMessages())
+        .extracting(OutboxMessage::aggregateType, OutboxMessage::aggregateId, OutboxMessage::eventType)
+        .containsExactly(tuple("Member", id, "CREATED"));
+  }
+
+  // 엔티티 리스너를 거치지 않는 배치 삭제도 기록 (id 를 알면 id 별 DELETED, 전체 삭제는 RESYNC)
+  @Test
+  void relayBatchDeletes() {
+    //given
+    Member member1 = memberRepository.save(new Member("member1", 10));
+    Member member2 = memberRepository.save(new Member("member2", 20));
+    Member member3 = memberRepository.save(new Member("member3", 30));
+    Member member4 = memberRepository.save(new Member("member4", 40));
+    outboxRelay.relay();
+    ((InMemoryOutboxSink) outboxSink).clear();
+
+    //when
+    memberRepository.deleteAllByIdInBatch(List.of(member1.getId()));
+    memberRepository.deleteAllInBatch(List.of(member2));
+    memberRepository.deleteInBatch(List.of(member3));
+    memberRepository.deleteAllInBatch();
+    outboxRelay.relay();
+
+    //then
+    List<OutboxMessage> messages = ((InMemoryOutboxSink) outboxSink).getMessages();
+    assertThat(messages)
+        .extracting(OutboxMessage::aggregateType, OutboxMessage::aggregateId, OutboxMessage::eventType)
+        .containsExactly(
+            tuple("Member", member1.getId(), "DELETED"),
+            tuple("Member", member2.getId(), "DELETED"),
+            tuple("Member", member3.getId(), "DELETED"),
+            tuple("Member", null, "RESYNC"));
+    assertThat(messages.get(3).payload()).contains("deleteAllInBatch");
+    assertThat(memberRepository.existsById(member4.getId())).isFalse();
+  }
+
+  @Test
+  void rolledBackChangesAreNotRecorded() {
+    //when
+    transactionTemplate.executeWithoutResult(status -> {
+      memberRepository.save(new Member("member1", 10));
+      status.setRollbackOnly();
+    });
+
+    //then
+    assertThat(outboxRelay.relay()).isZero();
+  }
+}
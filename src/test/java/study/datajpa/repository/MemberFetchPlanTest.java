@@ -0,0 +1,96 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+// AUTO 는 트랜잭션이 끝날 때 관찰 결과를 기록하므로 호출마다 트랜잭션을 새로 시작 (@Transactional 사용 x)
+@SpringBootTest(properties = {"member.fetch-plan.warm-up-calls=2", "member.fetch-plan.sample-every=0"})
+class MemberFetchPlanTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @Autowired
+  MemberFetchPlanAdvisor advisor;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  TransactionTemplate tx;
+
+  @BeforeEach
+  void setUp() {
+    tx = new TransactionTemplate(transactionManager);
+    Team teamA = teamRepository.save(new Team("teamA"));
+    Team teamB = teamRepository.save(new Team("teamB"));
+    memberRepository.save(new Member("member1", 10, teamA));
+    memberRepository.save(new Member("member2", 20, teamB));
+  }
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+    teamRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void autoPlanJoinsTeamForCallSitesThatUseIt() {
+    for (int i = 0; i < 2; i++) {
+      tx.executeWithoutResult(status -> loadWithTeams().forEach(member -> member.getTeam().getName()));
+      tx.executeWithoutResult(status -> loadWithoutTeams());
+    }
+
+    assertThat(advisor.snapshot().get("MemberFetchPlanTest.loadWithTeams").getRecommendedPlan())
+        .isEqualTo(MemberFetchPlan.TEAM_GRAPH);
+    assertThat(advisor.snapshot().get("MemberFetchPlanTest.loadWithoutTeams").getRecommendedPlan())
+        .isEqualTo(MemberFetchPlan.NONE);
+
+    // 관찰 이후 호출: team 을 쓰는 위치는 join 으로 이미 로딩됨
+    tx.executeWithoutResult(status -> assertThat(loadWithTeams())
+        .allMatch(member -> Hibernate.isInitialized(member.getTeam())));
+    tx.executeWithoutResult(status -> assertThat(loadWithoutTeams())
+        .noneMatch(member -> Hibernate.isInitialized(member.getTeam())));
+  }
+
+  // 호출자 트랜잭션이 없으면 반환 후 지연 로딩이 불가능 -> 관찰 없이 항상 team 까지 로딩
+  @Test
+  void autoPlanWithoutCallerTransactionLoadsTeams() {
+    for (int i = 0; i < 3; i++) {
+      assertThat(loadOutsideTransaction())
+          .allMatch(member -> Hibernate.isInitialized(member.getTeam()))
+          .extracting(member -> member.getTeam().getName())
+          .containsExactlyInAnyOrder("teamA", "teamB");
+    }
+
+    MemberFetchPlanAdvisor.CallSite site = advisor.snapshot()
+        .get("MemberFetchPlanTest.loadOutsideTransaction");
+    assertThat(site.getCalls()).isEqualTo(3);
+    assertThat(site.getObservedCalls()).isZero();
+  }
+
+  private List<Member> loadOutsideTransaction() {
+    return memberRepository.findMembers(null, MemberFetchPlan.AUTO);
+  }
+
+  private List<Member> loadWithTeams() {
+    return memberRepository.findMembers(null, MemberFetchPlan.AUTO);
+  }
+
+  private List<Member> loadWithoutTeams() {
+    return memberRepository.findMembers(null, MemberFetchPlan.AUTO);
+  }
+}
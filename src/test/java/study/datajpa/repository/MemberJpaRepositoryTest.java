@@ -2,21 +2,32 @@ package study.datajpa.repository;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
 
+@Slf4j
 @SpringBootTest
 @Transactional
 class MemberJpaRepositoryTest {
 
+  private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
   @Autowired
   MemberJpaRepository memberJpaRepository;
 
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
   @Test
   void testMember() {
     Member member = new Member("memberA");
@@ -91,6 +102,105 @@ class MemberJpaRepositoryTest {
     assertThat(totalCount).isEqualTo(5);
   }
 
+  @Test
+  void snapshotPaging() {
+    // given
+    Member member1 = memberJpaRepository.save(new Member("member1", 10));
+    memberJpaRepository.save(new Member("member2", 10));
+    Member member3 = memberJpaRepository.save(new Member("member3", 10));
+    memberJpaRepository.save(new Member("member4", 10));
+    memberJpaRepository.save(new Member("member5", 10));
+    memberJpaRepository.save(new Member("member4", 10)); // 같은 username -> id desc 로 구분
+
+    // when
+    MemberSnapshotPage page1 = memberJpaRepository.findByPageSnapshot(10, null, 2);
+
+    // 페이지 사이의 변경: 앞쪽 insert, 이후 insert, 뒤쪽 delete
+    memberJpaRepository.save(new Member("member45", 10));
+    memberJpaRepository.save(new Member("member25", 10));
+    memberJpaRepository.delete(member3);
+
+    MemberSnapshotPage page2 = memberJpaRepository.findByPageSnapshot(10, page1.nextToken(), 2);
+    MemberSnapshotPage page3 = memberJpaRepository.findByPageSnapshot(10, page2.nextToken(), 2);
+
+    // then
+    assertThat(page1.content()).extracting("username").containsExactly("member5", "member4");
+    assertThat(page2.content()).extracting("username").containsExactly("member4", "member2");
+    assertThat(page3.content()).containsExactly(member1);
+    assertThat(page3.nextToken()).isNull();
+
+    // offset 페이징은 앞쪽 insert 만큼 밀려서 첫 페이지에서 읽은 member4 를 다시 읽음
+    assertThat(memberJpaRepository.findByPage(10, 2, 2)).extracting("username")
+        .containsExactly("member4", "member4");
+
+    // limit 0 이면 다음 페이지 토큰을 만들 수 없으므로 거절
+    assertThatThrownBy(() -> memberJpaRepository.findByPageSnapshot(10, null, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  // 깊은 페이지: offset 은 앞의 행을 모두 읽고 버림, 키셋은 username 인덱스 범위로 바로 시작
+  @Test
+  void snapshotPagingAtDepth() {
+    // given
+    int age = 41;
+    int rows = 20_000;
+    int depth = 19_900;
+    int limit = 50;
+    List<Object[]> args = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      args.add(new Object[]{String.format("deep%05d", i), age});
+    }
+    jdbcTemplate.batchUpdate("insert into member (username, age) values (?, ?)", args);
+
+    // username desc 정렬에서 depth - 1 번째 행 = deep(rows - depth)
+    String lastUsername = String.format("deep%05d", rows - depth);
+    long lastId = jdbcTemplate.queryForObject("select member_id from member where username = ?",
+        Long.class, lastUsername);
+    long maxId = jdbcTemplate.queryForObject("select max(member_id) from member", Long.class);
+    String token = new MemberPageToken(age, maxId, lastUsername, lastId).encode();
+
+    // when
+    int iterations = 20;
+    List<Member> byOffset = null;
+    List<Member> bySnapshot = null;
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      byOffset = memberJpaRepository.findByPage(age, depth, limit);
+    }
+    long offsetMicros = (System.nanoTime() - start) / 1_000 / iterations;
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      bySnapshot = memberJpaRepository.findByPageSnapshot(age, token, limit).content();
+    }
+    long snapshotMicros = (System.nanoTime() - start) / 1_000 / iterations;
+
+    long offsetScans = scanCount("select member_id from member where age = " + age
+        + " order by username desc offset " + depth + " rows fetch next " + limit + " rows only");
+    long snapshotScans = scanCount("select member_id from member where age = " + age
+        + " and member_id <= " + maxId + " and username is not null and (username < '" + lastUsername
+        + "' or (username = '" + lastUsername + "' and member_id < " + lastId + "))"
+        + " order by username desc, member_id desc fetch first " + (limit + 1) + " rows only");
+    log.info("page at depth {} ({} rows): offset {} us / {} rows scanned, snapshot {} us / {} rows scanned",
+        depth, rows, offsetMicros, offsetScans, snapshotMicros, snapshotScans);
+
+    // then
+    assertThat(bySnapshot).containsExactlyElementsOf(byOffset);
+    assertThat(byOffset).first().extracting("username").isEqualTo(String.format("deep%05d", rows - depth - 1));
+    assertThat(offsetScans).isGreaterThanOrEqualTo(depth);
+    assertThat(snapshotScans).isLessThan(depth / 10);
+  }
+
+  // H2 EXPLAIN ANALYZE 의 테이블별 scanCount 합계
+  private long scanCount(String sql) {
+    String plan = jdbcTemplate.queryForObject("explain analyze " + sql, String.class);
+    Matcher matcher = SCAN_COUNT.matcher(plan);
+    long scans = 0;
+    while (matcher.find()) {
+      scans += Long.parseLong(matcher.group(1));
+    }
+    return scans;
+  }
+
   @Test
   void countTest() {
     //given
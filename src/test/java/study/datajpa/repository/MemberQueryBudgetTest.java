@@ -0,0 +1,111 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.support.QueryBudget;
+import study.datajpa.support.QueryBudgetExtension;
+import study.datajpa.support.QueryCounter;
+
+// 팀 조회 방식(fetch join, @EntityGraph)이 N+1 로 회귀하면 실패
+// 테스트 application.yml 이 main 설정을 가리므로 지연 로딩 배치 크기는 여기서 고정 (LAZY 플랜 예산의 전제)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.default_batch_fetch_size=100")
+@Transactional
+@ExtendWith(QueryBudgetExtension.class)
+class MemberQueryBudgetTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @PersistenceContext
+  EntityManager em;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 3; i++) {
+      Team team = new Team("team" + i);
+      em.persist(team);
+      em.persist(new Member("member" + i, 10 + i, team));
+    }
+    em.flush();
+    em.clear();
+  }
+
+  @Test
+  @QueryBudget(statements = 1, entityLoads = 6)
+  void fetchJoin() {
+    List<Member> members = memberRepository.findMemberFetchJoin();
+
+    assertThat(members).extracting(member -> member.getTeam().getName())
+        .containsExactlyInAnyOrder("team0", "team1", "team2");
+  }
+
+  @Test
+  @QueryBudget(statements = 1, entityLoads = 6)
+  void entityGraph() {
+    List<Member> members = memberRepository.findAll();
+
+    assertThat(members).extracting(member -> member.getTeam().getName()).hasSize(3);
+  }
+
+  @Test
+  @QueryBudget(statements = 1)
+  void queryEntityGraph() {
+    List<Member> members = memberRepository.findMemberEntityGraph();
+
+    assertThat(members).extracting(member -> member.getTeam().getName()).hasSize(3);
+  }
+
+  @Test
+  @QueryBudget(statements = 1)
+  void teamGraphPlan() {
+    List<Member> members = memberRepository.findMembers(null, MemberFetchPlan.TEAM_GRAPH);
+
+    assertThat(members).extracting(member -> member.getTeam().getName()).hasSize(3);
+  }
+
+  @Test
+  @QueryBudget(statements = 2)
+  void batchPlan() {
+    List<Member> members = memberRepository.findMembers(null, MemberFetchPlan.BATCH);
+
+    assertThat(members).extracting(member -> member.getTeam().getName()).hasSize(3);
+  }
+
+  // default_batch_fetch_size -> 지연 로딩도 in 절 한 번
+  @Test
+  @QueryBudget(statements = 2)
+  void lazyPlanLoadsTeamsInBatch() {
+    List<Member> members = memberRepository.findMembers(null, MemberFetchPlan.NONE);
+
+    assertThat(members).extracting(member -> member.getTeam().getName()).hasSize(3);
+  }
+
+  @Test
+  void lazyTeamAccessIsDetected() {
+    QueryCounter counter = QueryCounter.from(applicationContext);
+
+    assertThatThrownBy(() -> counter.expectStatements(1, () -> {
+      List<Member> members = memberRepository.findMemberCustom();
+      members.forEach(member -> member.getTeam().getName()); // 지연 로딩
+    }))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("expected at most 1 statements")
+        .hasMessageContaining("MemberRepository.findMemberCustom");
+  }
+}
@@ -0,0 +1,49 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+// 비동기 메서드는 다른 스레드, 다른 트랜잭션에서 실행되므로 테스트 트랜잭션(@Transactional) 사용 x
+@SpringBootTest
+class MemberRepositoryAsyncTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+    teamRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void asyncQueries() {
+    //given
+    Team team = teamRepository.save(new Team("teamA"));
+    memberRepository.save(new Member("member1", 10, team));
+    memberRepository.save(new Member("member2", 20, team));
+
+    //when
+    CompletableFuture<Long> count = memberRepository.countAsync();
+    CompletableFuture<List<String>> usernames = memberRepository.findUsernameListAsync();
+    CompletableFuture<List<MemberDto>> members = memberRepository.findMemberDtoAsync();
+    CompletableFuture.allOf(count, usernames, members).join();
+
+    //then
+    assertThat(count.join()).isEqualTo(2);
+    assertThat(usernames.join()).containsExactlyInAnyOrder("member1", "member2");
+    assertThat(members.join()).extracting("teamName").containsOnly("teamA");
+  }
+}
@@ -3,6 +3,7 @@ package study.datajpa.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
 import jakarta.persistence.PersistenceContext;
 import java.util.Arrays;
 import java.util.List;
@@ -17,6 +18,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
+import study.datajpa.entity.EpochMillisConverter;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
 
@@ -197,6 +200,52 @@ class MemberRepositoryTest {
     assertThat(resultCount).isEqualTo(3);
   }
 
+  @Test
+  void bulkUpdateInContext() {
+
+    // given
+    Member member1 = memberRepository.save(new Member("member1", 10));
+    Member member5 = memberRepository.save(new Member("member5", 40));
+    Team teamA = teamRepository.save(new Team("teamA"));
+
+    // when
+    int resultCount = memberRepository.bulkAgePlusInContext(20);
+
+    // then
+    // 영속성 컨텍스트를 비우지 않았는데도 최신 값, 다른 엔티티도 그대로 관리 중
+    assertThat(resultCount).isEqualTo(1);
+    assertThat(member5.getAge()).isEqualTo(41);
+    assertThat(member1.getAge()).isEqualTo(10);
+    assertThat(em.contains(teamA)).isTrue();
+    assertThat(memberRepository.findById(member5.getId()).get()).isSameAs(member5);
+
+    em.flush();
+    em.clear();
+    assertThat(memberRepository.findById(member5.getId()).get().getAge()).isEqualTo(41);
+  }
+
+  @Test
+  void bulkUpdateInContextFlushesPendingChanges() {
+
+    // given
+    Member member1 = memberRepository.save(new Member("member1", 15));
+    em.flush();
+    em.setFlushMode(FlushModeType.COMMIT); // auto flush 가 일어나지 않는 모드
+    member1.setAge(25); // 아직 DB 에 반영 전
+
+    // when
+    int resultCount = memberRepository.bulkAgePlusInContext(20);
+
+    // then
+    // 벌크 update 전에 flush -> DB 의 25 가 대상에 포함되고, 관리 중인 엔티티도 같은 값
+    assertThat(resultCount).isEqualTo(1);
+    assertThat(member1.getAge()).isEqualTo(26);
+
+    em.flush();
+    em.clear();
+    assertThat(memberRepository.findById(member1.getId()).get().getAge()).isEqualTo(26);
+  }
+
   @Test
   void fetchJoin() {
 
@@ -296,6 +345,90 @@ class MemberRepositoryTest {
     System.out.println("findMember.getLastModifiedBy() = " + findMember.getLastModifiedBy());
   }
 
+  @Test
+  void auditingTimestampPerFlush() {
+    //given
+    List<Member> members = Arrays.asList(
+        new Member("member1"), new Member("member2"), new Member("member3"));
+
+    //when
+    memberRepository.saveAll(members);
+
+    //then
+    assertThat(members).extracting(Member::getCreatedDate)
+        .doesNotContainNull()
+        .containsOnly(members.get(0).getCreatedDate());
+  }
+
+  @Test
+  void compactAuditColumns() {
+    //given
+    Member member = memberRepository.save(new Member("member1"));
+    em.flush();
+    em.clear();
+
+    //when
+    Object[] row = (Object[]) em.createNativeQuery(
+            "select created_date, created_by from member where member_id = :id")
+        .setParameter("id", member.getId())
+        .getSingleResult();
+    Member findMember = memberRepository.findById(member.getId()).get();
+
+    //then
+    assertThat(((Number) row[0]).longValue())
+        .isEqualTo(EpochMillisConverter.toEpochMillis(findMember.getCreatedDate()));
+    assertThat((byte[]) row[1]).hasSize(16);
+    assertThat(findMember.getCreatedBy()).isEqualTo(member.getCreatedBy());
+  }
+
+  @Test
+  void findUsernameById() {
+    //given
+    Member member = memberRepository.save(new Member("member1", 10));
+    em.flush();
+    em.clear();
+
+    //when
+    MemberUsername result = memberRepository.findUsernameById(member.getId()).get();
+
+    //then
+    assertThat(result.getUsername()).isEqualTo("member1");
+    assertThat(result.getLastModifiedDate()).isNotNull();
+    assertThat(memberRepository.findUsernameById(-1L)).isEmpty();
+  }
+
+  @Test
+  void searchBySpecification() {
+    //given
+    Team teamA = new Team("teamA");
+    Team teamB = new Team("teamB");
+    em.persist(teamA);
+    em.persist(teamB);
+    em.persist(new Member("kim_1", 10, teamA));
+    em.persist(new Member("kim%2", 20, teamA));
+    em.persist(new Member("kim_3", 30, teamB));
+    em.persist(new Member("lee", 20, teamA));
+    em.flush();
+    em.clear();
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setUsernamePrefix("kim_");
+    condition.setAgeGoe(10);
+    condition.setTeamName("teamA");
+    PageRequest pageRequest = PageRequest.of(0, 1, Sort.by(Direction.DESC, "age"));
+
+    //when
+    Page<Member> page = memberRepository.findAll(MemberSpecs.search(condition), pageRequest);
+    Slice<Member> slice = memberRepository.searchSlice(
+        MemberSpecs.search(new MemberSearchCondition()), PageRequest.of(1, 2, Sort.by("username")));
+
+    //then
+    assertThat(page.getContent()).extracting("username").containsExactly("kim_1"); // _ 는 와일드카드 x
+    assertThat(page.getTotalElements()).isEqualTo(1);
+    assertThat(slice.getContent()).extracting("username").containsExactly("kim_3", "lee");
+    assertThat(slice.hasNext()).isFalse();
+  }
+
   @Test
   void projections() {
     //given
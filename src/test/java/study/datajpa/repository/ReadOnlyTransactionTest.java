@@ -0,0 +1,61 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+// 커밋 시점 동작을 확인해야 하므로 테스트 트랜잭션(@Transactional) 사용 x
+@SpringBootTest
+class ReadOnlyTransactionTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @PersistenceContext
+  EntityManager em;
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void readOnlyTransactionSkipsSnapshotAndFlush() {
+    //given
+    memberRepository.save(new Member("member1", 10));
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    //when
+    readOnly.executeWithoutResult(status -> {
+      Session session = em.unwrap(Session.class);
+      assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+      assertThat(session.isDefaultReadOnly()).isTrue();
+
+      // 파생 쿼리, @EntityGraph 쿼리 모두 읽기 전용 엔티티로 로딩
+      Member member = memberRepository.findByUsername("member1").get(0);
+      assertThat(session.isReadOnly(member)).isTrue();
+      assertThat(memberRepository.findAll(PageRequest.of(0, 10)).getContent())
+          .allMatch(session::isReadOnly);
+
+      member.setAge(20); // 변경감지 x
+    });
+
+    //then
+    assertThat(memberRepository.findByUsername("member1").get(0).getAge()).isEqualTo(10);
+  }
+}
@@ -0,0 +1,78 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.TeamStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @PersistenceContext
+  EntityManager em;
+
+  @Test
+  void teamStatsMaintained() {
+    //given
+    Team teamA = teamRepository.save(new Team("teamA"));
+    Team teamB = teamRepository.save(new Team("teamB"));
+    Member member1 = memberRepository.save(new Member("member1", 10, teamA));
+    memberRepository.save(new Member("member2", 20, teamA));
+    Member member3 = memberRepository.save(new Member("member3", 30, teamB));
+
+    //when
+    member1.changeTeam(teamB);
+    member3.setAge(31);
+    em.flush();
+
+    //then
+    List<TeamStatsDto> stats = teamRepository.findTeamStats();
+    assertThat(stats).extracting("teamName", "memberCount", "averageAge")
+        .containsExactly(
+            tuple("teamA", 1L, 20.0),
+            tuple("teamB", 2L, 20.5));
+  }
+
+  @Test
+  void teamStatsBulkAndDelete() {
+    //given
+    Team teamA = teamRepository.save(new Team("teamA"));
+    memberRepository.save(new Member("member1", 10, teamA));
+    memberRepository.save(new Member("member2", 20, teamA));
+    Member member3 = memberRepository.save(new Member("member3", 30, teamA));
+
+    //when
+    memberRepository.bulkAgePlus(20); // 21, 31
+    memberRepository.delete(memberRepository.findById(member3.getId()).get());
+    em.flush();
+
+    //then
+    TeamStatsDto stats = teamRepository.findTeamStats().get(0);
+    assertThat(stats.getMemberCount()).isEqualTo(2);
+    assertThat(stats.getAverageAge()).isEqualTo(15.5);
+
+    // member 를 직접 집계한 결과와 같아야 함 (rebuild 는 별도 트랜잭션이라 이 트랜잭션의 변경이 안 보임)
+    Object[] expected = (Object[]) em.createNativeQuery(
+            "select count(*), sum(age) from member where team_id = ?1")
+        .setParameter(1, teamA.getId())
+        .getSingleResult();
+    assertThat(stats).isEqualTo(new TeamStatsDto(teamA.getId(), "teamA",
+        ((Number) expected[0]).longValue(), ((Number) expected[1]).longValue()));
+  }
+}
@@ -0,0 +1,44 @@
+package study.datajpa.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class UsernamePrefixIndexTest {
+
+  @Test
+  void searchDistinctUsernamesByPrefix() {
+    UsernamePrefixIndex index = new UsernamePrefixIndex();
+    index.add(1L, "kim");
+    index.add(2L, "kim");
+    index.add(3L, "kimchi");
+    index.add(4L, "ki");
+    index.add(5L, "lee");
+
+    assertThat(index.search("kim", 10)).containsExactly("kim", "kimchi");
+    assertThat(index.search("k", 2)).containsExactly("ki", "kim");
+    assertThat(index.search("park", 10)).isEmpty();
+
+    index.remove(1L, "kim");
+    assertThat(index.search("kim", 10)).containsExactly("kim", "kimchi");
+    index.remove(2L, "kim");
+    assertThat(index.search("kim", 10)).containsExactly("kimchi");
+  }
+
+  @Test
+  void rebuildReplaysConcurrentChanges() {
+    UsernamePrefixIndex index = new UsernamePrefixIndex();
+    index.add(9L, "stale");
+
+    index.rebuild(sink -> {
+      sink.accept(1L, "member1");
+      sink.accept(2L, "member2");
+      // 재구성 중 변경
+      index.remove(2L, "member2");
+      index.add(3L, "member3");
+    });
+
+    assertThat(index.isReady()).isTrue();
+    assertThat(index.search("", 10)).containsExactly("member1", "member3");
+  }
+}
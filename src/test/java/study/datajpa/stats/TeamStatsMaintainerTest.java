@@ -0,0 +1,149 @@
+package study.datajpa.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.diagnostics.SqlShapeRecorder;
+import study.datajpa.dto.TeamStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+// 배치 삭제 보정은 커밋 후 별도 트랜잭션에서 실행되므로 테스트 트랜잭션(@Transactional) 사용 x
+@Slf4j
+@SpringBootTest
+class TeamStatsMaintainerTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  TransactionTemplate transactionTemplate;
+
+  @Autowired
+  SqlShapeRecorder sqlShapeRecorder;
+
+  @AfterEach
+  void cleanUp() {
+    memberRepository.deleteAllInBatch();
+    teamRepository.deleteAllInBatch();
+    jdbcTemplate.update("delete from team_stats");
+  }
+
+  // 엔티티 이벤트가 없는 배치 삭제 -> 커밋 후 재계산
+  @Test
+  void batchDeletesRebuildAfterCommit() {
+    //given
+    Team teamA = teamRepository.save(new Team("teamA"));
+    Member member1 = memberRepository.save(new Member("member1", 10, teamA));
+    memberRepository.save(new Member("member2", 20, teamA));
+    Member member3 = memberRepository.save(new Member("member3", 30, teamA));
+
+    //when, then
+    memberRepository.deleteAllByIdInBatch(List.of(member1.getId()));
+    assertThat(teamRepository.findTeamStats()).extracting("memberCount", "averageAge")
+        .containsExactly(tuple(2L, 25.0));
+
+    memberRepository.deleteAllInBatch(List.of(member3));
+    assertThat(teamRepository.findTeamStats()).extracting("memberCount", "averageAge")
+        .containsExactly(tuple(1L, 20.0));
+
+    // 롤백된 배치 삭제는 보정도 실행 x
+    transactionTemplate.executeWithoutResult(status -> {
+      memberRepository.deleteAllInBatch();
+      status.setRollbackOnly();
+    });
+    assertThat(teamRepository.findTeamStats()).extracting("memberCount").containsExactly(1L);
+
+    memberRepository.deleteAllInBatch();
+    assertThat(teamRepository.findTeamStats()).isEmpty();
+  }
+
+  // 쓰기 비용: 팀이 있는 회원 insert 는 merge 1번 추가, 팀 없는 회원은 추가 x
+  // 읽기 비용: team_stats 조회(팀 수만큼 행) vs member 전체 group by (결과는 같아야 함)
+  @Test
+  void writeOverheadAndReadComparison() {
+    //given
+    Team teamA = teamRepository.save(new Team("teamA"));
+
+    sqlShapeRecorder.reset();
+    memberRepository.save(new Member("member", 10, teamA));
+    long withTeam = executions();
+    sqlShapeRecorder.reset();
+    memberRepository.save(new Member("member", 10));
+    long withoutTeam = executions();
+    assertThat(withTeam - withoutTeam).isEqualTo(1);
+
+    List<Long> teamIds = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      teamIds.add(teamRepository.save(new Team("team" + i)).getId());
+    }
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      rows.add(new Object[]{"member" + i, i % 60, teamIds.get(i % teamIds.size())});
+    }
+    jdbcTemplate.batchUpdate("insert into member (username, age, team_id) values (?, ?, ?)", rows);
+    jdbcTemplate.update("delete from team_stats");
+    jdbcTemplate.update("insert into team_stats (team_id, member_count, age_sum)"
+        + " select team_id, count(*), sum(age) from member where team_id is not null group by team_id");
+
+    //when
+    int iterations = 50;
+    long start = System.nanoTime();
+    List<TeamStatsDto> stats = null;
+    for (int i = 0; i < iterations; i++) {
+      stats = teamRepository.findTeamStats();
+    }
+    long statsMicros = (System.nanoTime() - start) / 1_000 / iterations;
+
+    start = System.nanoTime();
+    Map<Long, long[]> grouped = null;
+    for (int i = 0; i < iterations; i++) {
+      grouped = groupByMember();
+    }
+    long groupByMicros = (System.nanoTime() - start) / 1_000 / iterations;
+    log.info("team stats read: team_stats {} us, member group by {} us ({} members, {} teams);"
+        + " write: {} extra statement(s) per member insert", statsMicros, groupByMicros,
+        rows.size() + 2, stats.size(), withTeam - withoutTeam);
+
+    //then
+    Map<Long, long[]> fromStats = new TreeMap<>();
+    stats.forEach(dto -> fromStats.put(dto.getTeamId(),
+        new long[]{dto.getMemberCount(), Math.round(dto.getAverageAge() * dto.getMemberCount())}));
+    assertThat(fromStats).usingRecursiveComparison().isEqualTo(grouped);
+  }
+
+  private Map<Long, long[]> groupByMember() {
+    Map<Long, long[]> result = new TreeMap<>();
+    jdbcTemplate.query("select team_id, count(*), sum(age) from member where team_id is not null"
+            + " group by team_id",
+        rs -> {
+          result.put(rs.getLong(1), new long[]{rs.getLong(2), rs.getLong(3)});
+        });
+    return result;
+  }
+
+  private long executions() {
+    return sqlShapeRecorder.snapshot().values().stream()
+        .mapToLong(SqlShapeRecorder.MethodShapes::getExecutions)
+        .sum();
+  }
+}
@@ -0,0 +1,21 @@
+package study.datajpa.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 메서드 본문(@BeforeEach 제외)에서 허용하는 최대 SQL 수, 엔티티 로딩 수, 컬렉션 로딩 수.
+ * -1 은 검사하지 않음. QueryBudgetExtension 과 함께 사용
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+  long statements() default -1;
+
+  long entityLoads() default -1;
+
+  long collectionFetches() default -1;
+}
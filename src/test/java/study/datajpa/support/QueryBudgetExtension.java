@@ -0,0 +1,33 @@
+package study.datajpa.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+// @QueryBudget 이 붙은 테스트 메서드 본문만 측정 (@BeforeEach 의 데이터 준비는 제외)
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+  private static final Namespace NAMESPACE = Namespace.create(QueryBudgetExtension.class);
+
+  @Override
+  public void beforeTestExecution(ExtensionContext context) {
+    if (!context.getRequiredTestMethod().isAnnotationPresent(QueryBudget.class)) {
+      return;
+    }
+    QueryCounter counter = QueryCounter.from(SpringExtension.getApplicationContext(context));
+    counter.reset();
+    context.getStore(NAMESPACE).put(QueryCounter.class, counter);
+  }
+
+  @Override
+  public void afterTestExecution(ExtensionContext context) {
+    QueryCounter counter = context.getStore(NAMESPACE).remove(QueryCounter.class, QueryCounter.class);
+    if (counter == null || context.getExecutionException().isPresent()) {
+      return;
+    }
+    QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+    counter.assertWithin(budget.statements(), budget.entityLoads(), budget.collectionFetches());
+  }
+}
@@ -0,0 +1,71 @@
+package study.datajpa.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ApplicationContext;
+import study.datajpa.diagnostics.SqlShapeRecorder;
+import study.datajpa.diagnostics.SqlShapeRecorder.MethodShapes;
+
+/**
+ * Hibernate Statistics 로 구간 내 SQL 수, 엔티티/컬렉션 로딩 수를 세고 상한을 넘으면
+ * 실행된 SQL 별 횟수와 함께 실패 -> N+1 회귀 검출
+ */
+public class QueryCounter {
+
+  private final Statistics statistics;
+  private final SqlShapeRecorder sqlShapeRecorder;
+
+  public QueryCounter(Statistics statistics, SqlShapeRecorder sqlShapeRecorder) {
+    this.statistics = statistics;
+    this.sqlShapeRecorder = sqlShapeRecorder;
+  }
+
+  public static QueryCounter from(ApplicationContext applicationContext) {
+    Statistics statistics = applicationContext.getBean(EntityManagerFactory.class)
+        .unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    return new QueryCounter(statistics, applicationContext.getBean(SqlShapeRecorder.class));
+  }
+
+  public void reset() {
+    statistics.clear();
+    sqlShapeRecorder.reset();
+  }
+
+  // 블록 단위 검사
+  public void expectStatements(long maxStatements, Runnable block) {
+    reset();
+    block.run();
+    assertWithin(maxStatements, -1, -1);
+  }
+
+  public void assertWithin(long maxStatements, long maxEntityLoads, long maxCollectionFetches) {
+    StringBuilder violations = new StringBuilder();
+    check(violations, "statements", maxStatements, statistics.getPrepareStatementCount());
+    check(violations, "entity loads", maxEntityLoads, statistics.getEntityLoadCount());
+    check(violations, "collection fetches", maxCollectionFetches, statistics.getCollectionFetchCount());
+    if (violations.isEmpty()) {
+      return;
+    }
+    throw new AssertionError(violations.append(breakdown()).toString());
+  }
+
+  private void check(StringBuilder violations, String name, long max, long actual) {
+    if (max >= 0 && actual > max) {
+      violations.append("expected at most ").append(max).append(' ').append(name)
+          .append(" but was ").append(actual).append('\n');
+    }
+  }
+
+  private String breakdown() {
+    StringBuilder result = new StringBuilder("executed SQL:\n");
+    for (Map.Entry<String, MethodShapes> method : sqlShapeRecorder.snapshot().entrySet()) {
+      method.getValue().getShapes().forEach((sql, count) ->
+          result.append("  ").append(count).append(" x [").append(method.getKey()).append("] ")
+              .append(sql.replaceAll("\\s+", " ").trim()).append('\n'));
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,97 @@
+package study.datajpa.tenancy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+// 필터는 트랜잭션 시작 시점에 켜지므로 테스트 트랜잭션(@Transactional) 사용 x
+@SpringBootTest(properties = "tenancy.enabled=true")
+@AutoConfigureMockMvc
+class TenantFilterTest {
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  TeamRepository teamRepository;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @AfterEach
+  void cleanUp() {
+    TenantContext.clear();
+    memberRepository.deleteAllInBatch();
+    teamRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void queriesAreScopedToTenant() {
+    //given
+    Team teamA = teamRepository.save(new Team("teamA"));
+    Team teamB = teamRepository.save(new Team("teamB"));
+    memberRepository.save(new Member("member", 10, teamA));
+    memberRepository.save(new Member("member", 20, teamB));
+    memberRepository.save(new Member("other", 30, teamB));
+
+    //when, then
+    assertThat(memberRepository.findByUsername("member")).hasSize(2);
+    assertThat(TenantContext.callAs(teamA.getId(), () -> memberRepository.findByUsername("member")))
+        .extracting("age").containsExactly(10);
+    assertThat(TenantContext.callAs(teamB.getId(), () -> memberRepository.findAll())).hasSize(2);
+    assertThat(TenantContext.callAs(teamB.getId(), () -> teamRepository.findAll()))
+        .extracting("name").containsExactly("teamB");
+    assertThat(TenantContext.callAs(teamA.getId(), () -> memberRepository.countAsync().join()))
+        .isEqualTo(1);
+  }
+
+  // id 키 캐시에 들어 있는 회원이라도 다른 테넌트에는 보이지 않음, 헤더가 없으면 거절
+  @Test
+  void memberEndpointIsScopedToTenantHeader() throws Exception {
+    //given
+    Team teamA = teamRepository.save(new Team("teamA"));
+    Team teamB = teamRepository.save(new Team("teamB"));
+    Member member = memberRepository.save(new Member("member", 10, teamA));
+
+    //when, then
+    mockMvc.perform(get("/members/{id}", member.getId()))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/members/{id}", member.getId()).header("X-Tenant-Team-Id", teamA.getId()))
+        .andExpect(status().isOk())
+        .andExpect(content().string("member"));
+    assertThatThrownBy(() -> mockMvc.perform(
+        get("/members/{id}", member.getId()).header("X-Tenant-Team-Id", teamB.getId())))
+        .hasCauseInstanceOf(NoSuchElementException.class);
+  }
+
+  // 도메인 클래스 컨버터(em.find)로 조회하는 /members2 도 다른 테넌트의 회원은 보이지 않음
+  @Test
+  void memberEntityEndpointIsScopedToTenantHeader() throws Exception {
+    //given
+    Team teamA = teamRepository.save(new Team("teamA"));
+    Team teamB = teamRepository.save(new Team("teamB"));
+    Member member = memberRepository.save(new Member("member", 10, teamA));
+
+    //when, then
+    mockMvc.perform(get("/members2/{id}", member.getId()).header("X-Tenant-Team-Id", teamA.getId()))
+        .andExpect(status().isOk())
+        .andExpect(content().string("member"));
+    assertThatThrownBy(() -> mockMvc.perform(
+        get("/members2/{id}", member.getId()).header("X-Tenant-Team-Id", teamB.getId())))
+        .hasCauseInstanceOf(NoSuchElementException.class);
+  }
+}